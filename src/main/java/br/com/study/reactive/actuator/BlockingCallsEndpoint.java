@@ -0,0 +1,23 @@
+package br.com.study.reactive.actuator;
+
+import br.com.study.reactive.blocking.BlockingCallMonitor;
+import br.com.study.reactive.dto.BlockingCallReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "reactive.blocking-detection", name = "enabled", havingValue = "true")
+@Endpoint(id = "blockingcalls")
+public class BlockingCallsEndpoint {
+
+    private final BlockingCallMonitor blockingCallMonitor;
+
+    @ReadOperation
+    public BlockingCallReport blockingCalls() {
+        return blockingCallMonitor.report();
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.study.reactive.actuator;
+
+import br.com.study.reactive.dto.ReadModelReport;
+import br.com.study.reactive.scheduler.ServiceSchedulers;
+import br.com.study.reactive.service.AnimeReadModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "reactive.read-model", name = "enabled", havingValue = "true")
+@Endpoint(id = "readmodel")
+public class ReadModelEndpoint {
+
+    private final AnimeReadModel animeReadModel;
+    private final ServiceSchedulers schedulers;
+
+    @ReadOperation
+    public Mono<ReadModelReport> verify() {
+        return animeReadModel.verify()
+                .subscribeOn(schedulers.bulk());
+    }
+
+    @WriteOperation
+    public Mono<Map<String, Long>> rebuild() {
+        return animeReadModel.rebuild()
+                .subscribeOn(schedulers.bulk())
+                .map(rebuilt -> Map.of("rebuilt", rebuilt));
+    }
+}
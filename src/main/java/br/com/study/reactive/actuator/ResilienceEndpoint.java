@@ -0,0 +1,29 @@
+package br.com.study.reactive.actuator;
+
+import br.com.study.reactive.resilience.CircuitBreaker;
+import br.com.study.reactive.resilience.ResilienceRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "reactive.resilience", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Endpoint(id = "resilience")
+public class ResilienceEndpoint {
+
+    private final ResilienceRegistry resilienceRegistry;
+
+    @ReadOperation
+    public Map<String, Object> resilience() {
+        Map<String, CircuitBreaker.Snapshot> breakers = resilienceRegistry.snapshots();
+
+        return Map.of(
+                "breakers", breakers,
+                "retryBudget", resilienceRegistry.getRetryBudget().getTokens());
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.study.reactive.aop;
+
+import org.aspectj.lang.annotation.Pointcut;
+
+public class Pointcuts {
+
+    // Fragment implementations are reached through the repository proxy, which is already matched
+    @Pointcut("execution(* br.com.study.reactive.repository..*Repository+.*(..)) && !within(br.com.study.reactive.repository..*Impl)")
+    public void repositoryCalls() {
+    }
+
+    @Pointcut("within(br.com.study.reactive.service..*) && execution(public * *(..))")
+    public void serviceCalls() {
+    }
+
+    @Pointcut("within(br.com.study.reactive.controller..*) && execution(public * *(..))")
+    public void controllerCalls() {
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.study.reactive.aop;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public abstract class ReactiveCallAspect {
+
+    private static final ClassValue<String> TYPE_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            if (Repository.class.isAssignableFrom(type)) {
+                for (Class<?> candidate : type.getInterfaces()) {
+                    if (Repository.class.isAssignableFrom(candidate)) {
+                        return candidate.getSimpleName();
+                    }
+                }
+            }
+
+            return ClassUtils.getUserClass(type).getSimpleName();
+        }
+    };
+
+    protected Object decorate(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+
+        if (result instanceof Mono<?> mono) {
+            return decorate(typeName(joinPoint), joinPoint.getSignature().getName(), mono);
+        }
+
+        if (result instanceof Flux<?> flux) {
+            return decorate(typeName(joinPoint), joinPoint.getSignature().getName(), flux);
+        }
+
+        return result;
+    }
+
+    protected abstract <T> Mono<T> decorate(String type, String method, Mono<T> mono);
+
+    protected abstract <T> Flux<T> decorate(String type, String method, Flux<T> flux);
+
+    private static String typeName(ProceedingJoinPoint joinPoint) {
+        Object target = joinPoint.getTarget();
+
+        return target != null ? TYPE_NAMES.get(target.getClass()) : joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.study.reactive.blocking;
+
+import br.com.study.reactive.dto.BlockingCallReport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingMethod;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Counts and samples blocking calls made on non-blocking threads, letting them proceed. The callback runs on the
+ * offending thread, so it only touches lock-free structures and captures a stack trace for sampled calls alone.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "reactive.blocking-detection", name = "enabled", havingValue = "true")
+public class BlockingCallMonitor implements InitializingBean {
+
+    // reactor-http-nio-3 and parallel-7 are reported as their pool, keeping the thread tag bounded
+    private static final Pattern THREAD_INDEX = Pattern.compile("-\\d+$");
+
+    private final BlockingDetectionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<BlockingCallReport.Sample> samples = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger sampleCount = new AtomicInteger();
+
+    public BlockingCallMonitor(BlockingDetectionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // BlockHound can only be installed once per JVM; if something installed it first, its callback stays in place
+        BlockHound.install(builder -> builder.blockingMethodCallback(this::record));
+        log.info("BlockHound installed, blocking calls on non-blocking threads are reported and allowed to proceed");
+    }
+
+    void record(BlockingMethod method) {
+        String name = method.getClassName() + "." + method.getName();
+        String thread = Thread.currentThread().getName();
+        LongAdder count = calls.computeIfAbsent(name, key -> new LongAdder());
+        count.increment();
+
+        counters.computeIfAbsent(name + "@" + pool(thread), key -> Counter.builder("blocking.calls")
+                        .description("Blocking calls made on non-blocking threads")
+                        .tag("method", name)
+                        .tag("thread", pool(thread))
+                        .register(meterRegistry))
+                .increment();
+
+        if (count.sum() == 1 || ThreadLocalRandom.current().nextDouble() < properties.getSampleRate()) {
+            sample(name, thread);
+        }
+    }
+
+    public BlockingCallReport report() {
+        Map<String, Long> byMethod = new TreeMap<>();
+        calls.forEach((name, count) -> byMethod.put(name, count.sum()));
+
+        return BlockingCallReport.builder()
+                .total(byMethod.values().stream().mapToLong(Long::longValue).sum())
+                .byMethod(byMethod)
+                .samples(List.copyOf(samples))
+                .build();
+    }
+
+    private void sample(String method, String thread) {
+        List<String> stackTrace = Arrays.stream(new Throwable().getStackTrace())
+                .filter(frame -> !frame.getClassName().startsWith("reactor.blockhound.")
+                        && !frame.getClassName().equals(BlockingCallMonitor.class.getName()))
+                .limit(properties.getStackDepth())
+                .map(StackTraceElement::toString)
+                .toList();
+
+        samples.addFirst(BlockingCallReport.Sample.builder()
+                .at(Instant.now())
+                .thread(thread)
+                .method(method)
+                .stackTrace(stackTrace)
+                .build());
+
+        if (sampleCount.incrementAndGet() > properties.getMaxSamples() && samples.pollLast() != null) {
+            sampleCount.decrementAndGet();
+        }
+    }
+
+    private static String pool(String thread) {
+        return THREAD_INDEX.matcher(thread).replaceFirst("");
+    }
+}
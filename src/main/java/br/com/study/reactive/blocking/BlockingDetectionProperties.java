@@ -0,0 +1,30 @@
+package br.com.study.reactive.blocking;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Installs BlockHound at startup, reporting blocking calls on non-blocking threads instead of failing them.
+ * On Java 13+ the JVM must run with -XX:+AllowRedefinitionToAddDeleteMethods. Enabled by the blockhound profile.
+ */
+@Data
+@ConfigurationProperties("reactive.blocking-detection")
+public class BlockingDetectionProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Fraction of blocking calls whose stack trace is captured. The first call of each blocking method is always captured.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Most recent samples kept for the actuator endpoint.
+     */
+    private int maxSamples = 50;
+
+    /**
+     * Frames kept per sampled stack trace.
+     */
+    private int stackDepth = 32;
+}
@@ -0,0 +1,23 @@
+package br.com.study.reactive.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("reactive.cache.animes")
+public class AnimeCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of assembled anime responses kept in memory.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Safety net for entries whose invalidation was missed, e.g. writes made by another node.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+}
@@ -0,0 +1,82 @@
+package br.com.study.reactive.cache;
+
+import br.com.study.reactive.domain.AnimeSummary;
+import br.com.study.reactive.domain.VersionSummary;
+import br.com.study.reactive.dto.AnimeResponse;
+import br.com.study.reactive.timing.StageTimings;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+@Component
+public class AnimeResponseCache {
+
+    private final AsyncCache<String, AnimeResponse> cache;
+
+    // Anime-keyed reads that are not cached are still coalesced, and released by the same invalidation
+    private final SingleFlight<String, AnimeResponse> responses = new SingleFlight<>();
+    private final SingleFlight<String, AnimeSummary> summaries = new SingleFlight<>();
+    private final SingleFlight<String, VersionSummary> versions = new SingleFlight<>();
+
+    public AnimeResponseCache(AnimeCacheProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .buildAsync(), "animes");
+    }
+
+    public Mono<AnimeResponse> get(String name, Function<String, Mono<AnimeResponse>> loader) {
+        if (cache == null) {
+            return responses.mono(name, loader);
+        }
+
+        // The load runs in the Context of the request that missed, so its stages are timed there; a request served from
+        // the cache or joining that load records the wait as a cache stage. Cancelling one subscriber must not cancel
+        // the load other subscribers are waiting on
+        return Mono.deferContextual(context -> {
+            StageTimings timings = StageTimings.from(context);
+            AtomicBoolean loaded = new AtomicBoolean();
+            long start = System.nanoTime();
+
+            return Mono.fromFuture(() -> cache.get(name, (key, executor) -> {
+                        loaded.set(true);
+                        return loader.apply(key).contextWrite(context).toFuture();
+                    }), true)
+                    .doFinally(signal -> {
+                        if (!loaded.get()) {
+                            timings.record("cache", System.nanoTime() - start);
+                        }
+                    });
+        });
+    }
+
+    public Mono<AnimeSummary> getSummary(String name, Function<String, Mono<AnimeSummary>> loader) {
+        return summaries.mono(name, loader);
+    }
+
+    public Mono<VersionSummary> getVersion(String name, Function<String, Mono<VersionSummary>> loader) {
+        return versions.mono(name, loader);
+    }
+
+    public void invalidate(String name) {
+        responses.forget(name);
+        summaries.forget(name);
+        versions.forget(name);
+
+        if (cache != null && name != null) {
+            cache.synchronous().invalidate(name);
+        }
+    }
+}
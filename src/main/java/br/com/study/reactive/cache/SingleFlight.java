@@ -0,0 +1,73 @@
+package br.com.study.reactive.cache;
+
+import br.com.study.reactive.timing.StageTimings;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Lets concurrent subscribers for the same key share one in-flight load. The key is released as soon as the load
+ * terminates or every subscriber cancelled, so the next wave of subscribers starts a fresh load instead of reading a
+ * result that may already be stale.
+ * <p>
+ * Every element of a load is kept until it terminates, so only lookups with a small result belong here, such as one
+ * document or the episodes of one anime; full listings are queried directly.
+ * <p>
+ * The load runs in the Reactor Context of the subscriber that started it, so only that request records its stages;
+ * a timed request that joined records the wait as a {@code coalesced} stage instead.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Flux<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> mono(K key, Function<K, Mono<V>> loader) {
+        return flux(key, k -> loader.apply(k).flux()).singleOrEmpty();
+    }
+
+    public Flux<V> flux(K key, Function<K, Flux<V>> loader) {
+        return Flux.deferContextual(context -> {
+            boolean[] started = new boolean[1];
+            Flux<V> shared = inFlight.computeIfAbsent(key, k -> {
+                started[0] = true;
+                return share(k, loader.apply(k));
+            });
+
+            StageTimings timings = StageTimings.from(context);
+
+            if (started[0] || !timings.isRecording()) {
+                return shared;
+            }
+
+            long start = System.nanoTime();
+            return shared.doFinally(signal -> timings.record("coalesced", System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Releases the key, so subscribers arriving after a write start a new load instead of joining one that may have
+     * read the document before the write. Subscribers already waiting still get the earlier load's result.
+     */
+    public void forget(K key) {
+        if (key != null) {
+            inFlight.remove(key);
+        }
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    // Elements already emitted are replayed, so a subscriber joining mid-load still sees the whole result
+    private Flux<V> share(K key, Flux<V> load) {
+        AtomicReference<Flux<V>> shared = new AtomicReference<>();
+        shared.set(load.doFinally(signal -> inFlight.remove(key, shared.get()))
+                .replay()
+                .refCount());
+
+        return shared.get();
+    }
+}
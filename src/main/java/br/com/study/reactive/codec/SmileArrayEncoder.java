@@ -0,0 +1,46 @@
+package br.com.study.reactive.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Jackson2SmileEncoder} joins the elements of a non-streaming {@link Flux} with the JSON array separators, which
+ * is not valid Smile. This collects such a {@link Flux} and writes it as one Smile array; streaming media types are
+ * still written element by element.
+ */
+class SmileArrayEncoder extends Jackson2SmileEncoder {
+
+    SmileArrayEncoder(ObjectMapper mapper) {
+        super(mapper, SmileMediaTypes.MIME_TYPES);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                   MimeType mimeType, Map<String, Object> hints) {
+
+        if (inputStream instanceof Mono || isStreaming(mimeType)) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+
+        ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+
+        return Flux.from(inputStream)
+                .collectList()
+                .map(elements -> encodeValue(elements, bufferFactory, listType, mimeType, hints))
+                .flux();
+    }
+
+    private boolean isStreaming(MimeType mimeType) {
+        return mimeType != null && getStreamingMediaTypes().stream().anyMatch(mediaType -> mediaType.isCompatibleWith(mimeType));
+    }
+}
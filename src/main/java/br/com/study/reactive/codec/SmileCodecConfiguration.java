@@ -0,0 +1,30 @@
+package br.com.study.reactive.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * WebFlux registers Smile codecs whenever jackson-dataformat-smile is present; this replaces them with ones built from
+ * Boot's Jackson settings and a Flux-safe encoder. JSON stays the default; callers opt in with
+ * {@code Accept}/{@code Content-Type} {@value SmileMediaTypes#APPLICATION_SMILE_VALUE}, or
+ * {@value SmileMediaTypes#APPLICATION_STREAM_SMILE_VALUE} for streamed responses.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SmileCodecConfiguration {
+
+    @Bean
+    CodecCustomizer smileCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+        // The builder is prototype scoped, so the Smile mapper shares Boot's Jackson settings without touching the JSON one
+        ObjectMapper smileMapper = builder.factory(new SmileFactory()).build();
+
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new SmileArrayEncoder(smileMapper));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SmileMediaTypes.MIME_TYPES));
+        };
+    }
+}
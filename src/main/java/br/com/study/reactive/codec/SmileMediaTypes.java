@@ -0,0 +1,22 @@
+package br.com.study.reactive.codec;
+
+import org.springframework.util.MimeType;
+
+/**
+ * Media types served by the Jackson Smile codecs, the binary encoding of the JSON data model.
+ */
+public final class SmileMediaTypes {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final String APPLICATION_STREAM_SMILE_VALUE = "application/stream+x-jackson-smile";
+
+    // Jackson codecs fall back to the JSON mime types when none are given, so the Smile ones are always passed explicitly
+    static final MimeType[] MIME_TYPES = {
+            new MimeType("application", "x-jackson-smile"),
+            new MimeType("application", "*+x-jackson-smile")
+    };
+
+    private SmileMediaTypes() {
+    }
+}
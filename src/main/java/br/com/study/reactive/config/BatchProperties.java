@@ -0,0 +1,19 @@
+package br.com.study.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("reactive.batch")
+public class BatchProperties {
+
+    /**
+     * Number of documents sent in a single insertMany.
+     */
+    private int size = 500;
+
+    /**
+     * Number of insertMany operations allowed to run at the same time for one request.
+     */
+    private int maxInFlight = 4;
+}
@@ -0,0 +1,15 @@
+package br.com.study.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("reactive.cascade")
+public class CascadeProperties {
+
+    /**
+     * Whether an anime and its episodes are deleted inside one transaction. MongoDB only supports transactions on
+     * replica sets and sharded clusters, so a standalone server must leave this off.
+     */
+    private boolean transactional = false;
+}
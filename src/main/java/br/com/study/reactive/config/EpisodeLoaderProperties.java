@@ -0,0 +1,26 @@
+package br.com.study.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("reactive.episode-loader")
+public class EpisodeLoaderProperties {
+
+    /**
+     * Whether lookups of episodes by anime name from concurrent requests are merged into one $in query.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long the first lookup of a batch waits for others to join it. Every batched lookup pays up to this much latency.
+     */
+    private Duration window = Duration.ofMillis(2);
+
+    /**
+     * Number of distinct names that dispatches a batch before its window ends.
+     */
+    private int maxBatchSize = 100;
+}
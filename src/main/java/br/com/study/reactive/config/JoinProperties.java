@@ -0,0 +1,24 @@
+package br.com.study.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("reactive.join")
+public class JoinProperties {
+
+    /**
+     * How episodes are attached to animes when listing: one query per anime, or one $in query per chunk of names.
+     */
+    private Mode mode = Mode.BATCHED;
+
+    /**
+     * Maximum number of anime names sent in a single $in query.
+     */
+    private int batchSize = 100;
+
+    public enum Mode {
+        PER_ANIME,
+        BATCHED
+    }
+}
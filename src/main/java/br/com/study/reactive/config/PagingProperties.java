@@ -0,0 +1,11 @@
+package br.com.study.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("reactive.paging")
+public class PagingProperties {
+
+    private int maximumSize = 500;
+}
@@ -0,0 +1,19 @@
+package br.com.study.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("reactive.read-model")
+public class ReadModelProperties {
+
+    /**
+     * Whether anime reads are served from the anime_view collection, kept up to date by every write.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of animes joined, written or compared per round trip when rebuilding or checking the read model.
+     */
+    private int batchSize = 100;
+}
@@ -0,0 +1,18 @@
+package br.com.study.reactive.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+@Configuration
+public class TransactionConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reactive.cascade", name = "transactional", havingValue = "true")
+    public TransactionalOperator cascadeTransactionalOperator(ReactiveMongoDatabaseFactory databaseFactory) {
+        return TransactionalOperator.create(new ReactiveMongoTransactionManager(databaseFactory));
+    }
+}
@@ -1,23 +1,35 @@
 package br.com.study.reactive.controller;
 
+import br.com.study.reactive.codec.SmileMediaTypes;
 import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.dto.BatchItemResult;
 import br.com.study.reactive.dto.AnimeResponse;
+import br.com.study.reactive.dto.PageResponse;
+import br.com.study.reactive.service.AnimeFields;
 import br.com.study.reactive.service.AnimeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
+
 @Slf4j
 @RequiredArgsConstructor
 @RestController
@@ -27,13 +39,39 @@ public class AnimeController {
     private final AnimeService animeService;
 
     @GetMapping
-    public Flux<AnimeResponse> findAll() {
-        return animeService.findAll();
+    public Flux<AnimeResponse> findAll(@RequestParam(required = false) Set<String> fields,
+                                       @RequestParam(required = false) Set<String> include) {
+        return animeService.findAll(AnimeFields.of(fields, include));
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE,
+            SmileMediaTypes.APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<AnimeResponse> stream(@RequestParam(required = false) Set<String> fields,
+                                      @RequestParam(required = false) Set<String> include) {
+        return animeService.stream(AnimeFields.of(fields, include));
+    }
+
+    @GetMapping(params = "size")
+    public Mono<PageResponse<AnimeResponse>> findPage(@RequestParam int size, @RequestParam(required = false) String after,
+                                                      @RequestParam(required = false) Set<String> fields,
+                                                      @RequestParam(required = false) Set<String> include) {
+        return animeService.findPage(size, after, AnimeFields.of(fields, include));
     }
 
     @GetMapping("/{name}")
-    public Mono<AnimeResponse> findByName(@PathVariable String name) {
-        return animeService.findByName(name);
+    public Mono<ResponseEntity<AnimeResponse>> findByName(@PathVariable String name,
+                                                          @RequestParam(required = false) Set<String> fields,
+                                                          @RequestParam(required = false) Set<String> include,
+                                                          ServerWebExchange exchange) {
+        AnimeFields animeFields = AnimeFields.of(fields, include);
+
+        // 304 is decided on a fresh version read, but a body may come from the cache before a write invalidated it,
+        // so it carries the tag of the version it was built from
+        return animeService.findETag(name, animeFields)
+                .flatMap(etag -> exchange.checkNotModified(etag)
+                        ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build())
+                        : animeService.findTaggedByName(name, animeFields)
+                                .map(tagged -> ResponseEntity.ok().eTag(tagged.getT1()).body(tagged.getT2())));
     }
 
     @PostMapping
@@ -41,13 +79,21 @@ public class AnimeController {
         return animeService.create(anime);
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            SmileMediaTypes.APPLICATION_SMILE_VALUE, SmileMediaTypes.APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<BatchItemResult> createAll(@RequestBody Flux<Anime> animes) {
+        return animeService.createAll(animes);
+    }
+
     @PutMapping("/{name}")
-    public Mono<AnimeResponse> update(@PathVariable String name, @RequestBody Anime anime) {
-        return animeService.update(name, anime);
+    public Mono<AnimeResponse> update(@PathVariable String name, @RequestBody Anime anime,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return animeService.update(name, anime, ifMatch);
     }
 
     @DeleteMapping("/{name}")
-    public Mono<AnimeResponse> delete(@PathVariable String name) {
-        return animeService.delete(name);
+    public Mono<AnimeResponse> delete(@PathVariable String name,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return animeService.delete(name, ifMatch);
     }
 }
@@ -1,18 +1,28 @@
 package br.com.study.reactive.controller;
 
+import br.com.study.reactive.codec.SmileMediaTypes;
 import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.dto.BatchItemResult;
 import br.com.study.reactive.dto.EpisodeResponse;
+import br.com.study.reactive.dto.PageResponse;
 import br.com.study.reactive.service.EpisodeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -29,9 +39,23 @@ public class EpisodeController {
         return episodeService.findAll();
     }
 
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE,
+            SmileMediaTypes.APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<EpisodeResponse> stream() {
+        return episodeService.stream();
+    }
+
+    @GetMapping(params = "size")
+    public Mono<PageResponse<EpisodeResponse>> findPage(@RequestParam int size, @RequestParam(required = false) String after) {
+        return episodeService.findPage(size, after);
+    }
+
     @GetMapping("/{title}")
-    public Mono<EpisodeResponse> findByTitle(@PathVariable String title) {
-        return episodeService.findByTitle(title);
+    public Mono<ResponseEntity<EpisodeResponse>> findByTitle(@PathVariable String title, ServerWebExchange exchange) {
+        return episodeService.findETag(title)
+                .flatMap(etag -> exchange.checkNotModified(etag)
+                        ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build())
+                        : episodeService.findByTitle(title).map(episode -> ResponseEntity.ok().eTag(etag).body(episode)));
     }
 
     @PostMapping
@@ -39,13 +63,21 @@ public class EpisodeController {
         return episodeService.create(episode);
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            SmileMediaTypes.APPLICATION_SMILE_VALUE, SmileMediaTypes.APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<BatchItemResult> createAll(@RequestBody Flux<Episode> episodes) {
+        return episodeService.createAll(episodes);
+    }
+
     @PutMapping("/{title}")
-    public Mono<EpisodeResponse> update(@PathVariable String title, @RequestBody Episode episode) {
-        return episodeService.update(title, episode);
+    public Mono<EpisodeResponse> update(@PathVariable String title, @RequestBody Episode episode,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return episodeService.update(title, episode, ifMatch);
     }
 
     @DeleteMapping("/{title}")
-    public Mono<EpisodeResponse> delete(@PathVariable String title) {
-        return episodeService.delete(title);
+    public Mono<EpisodeResponse> delete(@PathVariable String title,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return episodeService.delete(title, ifMatch);
     }
 }
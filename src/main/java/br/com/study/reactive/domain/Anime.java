@@ -1,11 +1,14 @@
 package br.com.study.reactive.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.With;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -19,6 +22,12 @@ public class Anime {
     @Id
     private String id;
 
+    @Indexed(unique = true)
     private String name;
 
+    // Bumped on every write to the anime or its episodes and exposed in the ETag; never taken from request bodies
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
 }
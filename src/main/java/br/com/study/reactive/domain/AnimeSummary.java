@@ -0,0 +1,16 @@
+package br.com.study.reactive.domain;
+
+import lombok.Value;
+
+/**
+ * Read-side projection of {@link Anime}. Finders returning it only fetch and decode the fields listed here.
+ */
+@Value
+public class AnimeSummary {
+
+    String id;
+
+    String name;
+
+    Long version;
+}
@@ -0,0 +1,35 @@
+package br.com.study.reactive.domain;
+
+import br.com.study.reactive.dto.EpisodeResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@With
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("anime_view")
+public class AnimeView {
+
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private String name;
+
+    private List<EpisodeResponse> episodes;
+
+    private Long version;
+
+    private Instant refreshedAt;
+}
@@ -1,13 +1,18 @@
 package br.com.study.reactive.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.With;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 @Data
 @Builder
 @With
@@ -19,7 +24,18 @@ public class Episode {
     @Id
     private String id;
 
+    @Indexed
     private String name;
 
+    @Indexed(unique = true)
     private String title;
+
+    // Bumped on every write and exposed in the ETag; never taken from request bodies
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Set by the service when the episode is created; the orphan sweeper only removes episodes past their grace period
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant createdAt;
 }
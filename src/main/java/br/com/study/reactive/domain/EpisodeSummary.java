@@ -0,0 +1,16 @@
+package br.com.study.reactive.domain;
+
+import lombok.Value;
+
+/**
+ * Read-side projection of {@link Episode}. Finders returning it only fetch and decode the fields listed here.
+ */
+@Value
+public class EpisodeSummary {
+
+    String id;
+
+    String name;
+
+    String title;
+}
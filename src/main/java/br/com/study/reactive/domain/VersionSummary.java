@@ -0,0 +1,15 @@
+package br.com.study.reactive.domain;
+
+import lombok.Value;
+
+/**
+ * Projection of a document's identity and {@code @Version}, enough to answer conditional requests without loading the
+ * document itself.
+ */
+@Value
+public class VersionSummary {
+
+    String id;
+
+    Long version;
+}
@@ -1,8 +1,11 @@
 package br.com.study.reactive.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.With;
 
@@ -13,6 +16,7 @@ import java.util.List;
 @With
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AnimeResponse {
 
     private String id;
@@ -20,4 +24,12 @@ public class AnimeResponse {
     private String name;
 
     private List<EpisodeResponse> episodes;
+
+    // Only set on delete, where the episodes are removed along with the anime
+    private Long deletedEpisodes;
+
+    // Version of the anime the response was built from; it tags the response in the ETag and is never serialized
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
@@ -0,0 +1,57 @@
+package br.com.study.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+
+    private long index;
+
+    private String id;
+
+    private Status status;
+
+    private String error;
+
+    public static BatchItemResult created(long index, String id) {
+        return BatchItemResult.builder()
+                .index(index)
+                .id(id)
+                .status(Status.CREATED)
+                .build();
+    }
+
+    public static BatchItemResult failed(long index, String id, String error) {
+        return BatchItemResult.builder()
+                .index(index)
+                .id(id)
+                .status(Status.FAILED)
+                .error(error)
+                .build();
+    }
+
+    public static BatchItemResult unknown(long index, String id, String error) {
+        return BatchItemResult.builder()
+                .index(index)
+                .id(id)
+                .status(Status.UNKNOWN)
+                .error(error)
+                .build();
+    }
+
+    public enum Status {
+        CREATED,
+        FAILED,
+        /**
+         * The insert failed without saying which documents were written, and the document was not found afterwards;
+         * it may still be written. Look it up by id before sending it again.
+         */
+        UNKNOWN
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.study.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlockingCallReport {
+
+    private long total;
+
+    private Map<String, Long> byMethod;
+
+    private List<Sample> samples;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Sample {
+
+        private Instant at;
+
+        private String thread;
+
+        private String method;
+
+        private List<String> stackTrace;
+    }
+}
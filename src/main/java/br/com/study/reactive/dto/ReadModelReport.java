@@ -0,0 +1,27 @@
+package br.com.study.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadModelReport {
+
+    private long checked;
+
+    private List<String> missing;
+
+    private List<String> stale;
+
+    private List<String> orphaned;
+
+    public boolean isConsistent() {
+        return missing.isEmpty() && stale.isEmpty() && orphaned.isEmpty();
+    }
+}
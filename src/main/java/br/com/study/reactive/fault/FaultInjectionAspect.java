@@ -0,0 +1,79 @@
+package br.com.study.reactive.fault;
+
+import br.com.study.reactive.aop.ReactiveCallAspect;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "reactive.fault-injection", name = "enabled", havingValue = "true")
+public class FaultInjectionAspect extends ReactiveCallAspect {
+
+    private final FaultInjectionProperties properties;
+
+    @Around("br.com.study.reactive.aop.Pointcuts.repositoryCalls()")
+    public Object inject(ProceedingJoinPoint joinPoint) throws Throwable {
+        return decorate(joinPoint);
+    }
+
+    @Override
+    protected <T> Mono<T> decorate(String type, String method, Mono<T> mono) {
+        FaultInjectionProperties.Fault fault = properties.find(type, method);
+
+        if (fault == null) {
+            return mono;
+        }
+
+        Mono<T> injected = Mono.defer(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            if (random.nextDouble() < fault.getErrorRate()) {
+                return Mono.delay(fault.getDelay().sample(random))
+                        .then(Mono.error(new InjectedFaultException(type + "." + method)));
+            }
+
+            Duration delay = fault.getDelay().sample(random);
+
+            return delay.isZero() ? mono : Mono.delay(delay).then(mono);
+        });
+
+        return fault.getTimeout() != null ? injected.timeout(fault.getTimeout()) : injected;
+    }
+
+    @Override
+    protected <T> Flux<T> decorate(String type, String method, Flux<T> flux) {
+        FaultInjectionProperties.Fault fault = properties.find(type, method);
+
+        if (fault == null) {
+            return flux;
+        }
+
+        Flux<T> injected = Flux.defer(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            if (random.nextDouble() < fault.getErrorRate()) {
+                return Mono.delay(fault.getDelay().sample(random))
+                        .thenMany(Flux.error(new InjectedFaultException(type + "." + method)));
+            }
+
+            Duration delay = fault.getDelay().sample(random);
+
+            return delay.isZero() ? flux : Mono.delay(delay).thenMany(flux);
+        });
+
+        return fault.getTimeout() != null ? injected.timeout(fault.getTimeout()) : injected;
+    }
+}
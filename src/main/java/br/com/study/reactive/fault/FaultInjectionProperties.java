@@ -0,0 +1,86 @@
+package br.com.study.reactive.fault;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Data
+@ConfigurationProperties("reactive.fault-injection")
+public class FaultInjectionProperties {
+
+    /**
+     * Whether repository calls are wrapped at all. When false no aspect is registered.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Faults keyed by repository simple name and then by method name.
+     */
+    private Map<String, Map<String, Fault>> repositories = new HashMap<>();
+
+    public Fault find(String repository, String method) {
+        Map<String, Fault> methods = repositories.get(repository);
+
+        return methods != null ? methods.get(method) : null;
+    }
+
+    @Data
+    public static class Fault {
+
+        private Delay delay = new Delay();
+
+        /**
+         * Probability, between 0 and 1, that the call fails with an InjectedFaultException instead of running.
+         */
+        private double errorRate = 0;
+
+        /**
+         * Maximum wait, injected delay included, for the first element and between elements. Fails with a TimeoutException.
+         */
+        private Duration timeout;
+    }
+
+    @Data
+    public static class Delay {
+
+        private Distribution distribution = Distribution.FIXED;
+
+        /**
+         * Delay for the fixed distribution and lower bound for the uniform one.
+         */
+        private Duration min = Duration.ZERO;
+
+        /**
+         * Upper bound for the uniform distribution and cap for the exponential one.
+         */
+        private Duration max = Duration.ZERO;
+
+        /**
+         * Mean of the exponential distribution.
+         */
+        private Duration mean = Duration.ZERO;
+
+        public Duration sample(ThreadLocalRandom random) {
+            return switch (distribution) {
+                case FIXED -> min;
+                case UNIFORM -> max.compareTo(min) > 0
+                        ? Duration.ofNanos(random.nextLong(min.toNanos(), max.toNanos()))
+                        : min;
+                case EXPONENTIAL -> {
+                    long nanos = (long) (-Math.log(1 - random.nextDouble()) * mean.toNanos());
+                    yield max.isZero() ? Duration.ofNanos(nanos) : Duration.ofNanos(Math.min(nanos, max.toNanos()));
+                }
+            };
+        }
+    }
+
+    public enum Distribution {
+        FIXED,
+        UNIFORM,
+        EXPONENTIAL
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.study.reactive.fault;
+
+public class InjectedFaultException extends RuntimeException {
+
+    public InjectedFaultException(String operation) {
+        super("Injected fault on " + operation);
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.study.reactive.index;
+
+import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.AnimeView;
+import br.com.study.reactive.domain.Episode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "reactive.indexes", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IndexInitializer implements ApplicationRunner {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final IndexProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Flux.concat(ensureIndexes(Anime.class), ensureIndexes(Episode.class), ensureIndexes(AnimeView.class))
+                .thenMany(Flux.concat(
+                        checkPlan(Anime.class, new Document("name", "")),
+                        checkPlan(Episode.class, new Document("name", "")),
+                        checkPlan(Episode.class, new Document("name", new Document("$in", List.of("")))),
+                        checkPlan(Episode.class, new Document("title", "")),
+                        checkPlan(AnimeView.class, new Document("name", ""))))
+                .then()
+                .timeout(properties.getTimeout())
+                .onErrorResume(error -> {
+                    if (properties.isStrict()) {
+                        return Mono.error(error);
+                    }
+
+                    log.warn("Could not create or verify MongoDB indexes", error);
+                    return Mono.empty();
+                })
+                .block();
+    }
+
+    private Flux<String> ensureIndexes(Class<?> type) {
+        IndexResolver indexResolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+
+        return Flux.fromIterable(indexResolver.resolveIndexFor(type))
+                .concatMap(index -> mongoTemplate.indexOps(type).ensureIndex(index))
+                .doOnNext(index -> log.info("Index {} ensured on {}", index, mongoTemplate.getCollectionName(type)));
+    }
+
+    private Mono<Void> checkPlan(Class<?> type, Document filter) {
+        String collection = mongoTemplate.getCollectionName(type);
+        Document command = new Document("explain", new Document("find", collection).append("filter", filter))
+                .append("verbosity", "queryPlanner");
+
+        return mongoTemplate.executeCommand(command)
+                .flatMap(explain -> {
+                    if (!QueryPlans.usesCollectionScan(explain)) {
+                        return Mono.empty();
+                    }
+
+                    String message = "Lookup " + filter.toJson() + " on " + collection + " is planned as a COLLSCAN";
+
+                    if (properties.isStrict()) {
+                        return Mono.error(new IllegalStateException(message));
+                    }
+
+                    log.warn(message);
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.study.reactive.index;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("reactive.indexes")
+public class IndexProperties {
+
+    /**
+     * Whether declared indexes are created and lookup query plans checked at startup.
+     */
+    private boolean enabled = true;
+
+    /**
+     * When true, a failed index creation or a lookup planned as COLLSCAN aborts startup instead of logging a warning.
+     */
+    private boolean strict = false;
+
+    private Duration timeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,38 @@
+package br.com.study.reactive.index;
+
+import org.bson.Document;
+
+import java.util.List;
+import java.util.Optional;
+
+final class QueryPlans {
+
+    private static final String COLLECTION_SCAN = "COLLSCAN";
+
+    private QueryPlans() {
+    }
+
+    static boolean usesCollectionScan(Document explain) {
+        return Optional.ofNullable(explain.get("queryPlanner", Document.class))
+                .map(queryPlanner -> queryPlanner.get("winningPlan", Document.class))
+                .map(QueryPlans::containsCollectionScan)
+                .orElse(false);
+    }
+
+    // Stages nest through inputStage/inputStages, and since 5.0 the SBE engine wraps them in queryPlan
+    private static boolean containsCollectionScan(Object stage) {
+        if (stage instanceof Document document) {
+            if (COLLECTION_SCAN.equals(document.getString("stage"))) {
+                return true;
+            }
+
+            return document.values().stream().anyMatch(QueryPlans::containsCollectionScan);
+        }
+
+        if (stage instanceof List<?> stages) {
+            return stages.stream().anyMatch(QueryPlans::containsCollectionScan);
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.study.reactive.limit;
+
+import br.com.study.reactive.limit.ConcurrencyLimitProperties.Priority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits requests while fewer than the adaptive limit are in flight and rejects the rest with 503 right away, before
+ * they queue behind the Mongo connection pool. Each priority may only fill its share of the limit.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reactive.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitFilter implements WebFilter, Ordered {
+
+    private final ConcurrencyLimitProperties properties;
+    private final GradientLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<PathPattern> excluded;
+    private final List<RoutePattern> routes;
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limit = new GradientLimit(properties);
+        this.excluded = properties.getExcluded().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new RoutePattern(route.getMethod(), PathPatternParser.defaultInstance.parse(route.getPath()),
+                        route.getPriority()))
+                .toList();
+
+        Gauge.builder("concurrency.limit", limit, GradientLimit::getLimit)
+                .description("Requests admitted concurrently before new ones are rejected")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests admitted and not yet completed")
+                .register(meterRegistry);
+
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("concurrency.rejected")
+                    .description("Requests rejected with 503 because the concurrency limit was reached")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+
+        if (excluded.stream().anyMatch(pattern -> pattern.matches(path))) {
+            return chain.filter(exchange);
+        }
+
+        String method = exchange.getRequest().getMethod().name();
+        Priority priority = priorityOf(method, path);
+        int allowed = Math.max(1, (int) (limit.getLimit() * properties.shareOf(priority)));
+        int current = inFlight.incrementAndGet();
+
+        if (current > allowed) {
+            inFlight.decrementAndGet();
+            rejected.get(priority).increment();
+
+            return reject(exchange);
+        }
+
+        long startedAt = System.nanoTime();
+
+        // Only NORMAL requests are sampled: low priority routes are listings and streams, whose latency follows the
+        // amount of data returned rather than queueing
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    inFlight.decrementAndGet();
+
+                    if (signal == SignalType.ON_COMPLETE && priority == Priority.NORMAL) {
+                        limit.onSample(System.nanoTime() - startedAt, current);
+                    }
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    int getLimit() {
+        return limit.getLimit();
+    }
+
+    private Priority priorityOf(String method, PathContainer path) {
+        return routes.stream()
+                .filter(route -> route.matches(method, path))
+                .map(RoutePattern::getPriority)
+                .findFirst()
+                .orElse(Priority.NORMAL);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+
+        return response.setComplete();
+    }
+
+    @Value
+    private static class RoutePattern {
+
+        String method;
+        PathPattern path;
+        Priority priority;
+
+        boolean matches(String requestMethod, PathContainer requestPath) {
+            return (method == null || method.isEmpty() || method.equalsIgnoreCase(requestMethod)) && path.matches(requestPath);
+        }
+    }
+}
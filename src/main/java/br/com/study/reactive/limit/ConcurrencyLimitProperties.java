@@ -0,0 +1,85 @@
+package br.com.study.reactive.limit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties("reactive.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Whether requests beyond the adaptive concurrency limit are rejected with 503. When false no filter is registered.
+     */
+    private boolean enabled = false;
+
+    private int initialLimit = 50;
+
+    private int minLimit = 8;
+
+    private int maxLimit = 500;
+
+    /**
+     * How much the recent latency may exceed the long-term latency before the limit shrinks; 2 tolerates doubling.
+     */
+    private double tolerance = 2.0;
+
+    /**
+     * Weight, between 0 and 1, given to each new limit estimate over the current limit.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Number of samples the long-term latency is averaged over.
+     */
+    private int longWindow = 600;
+
+    /**
+     * Number of samples the recent latency is averaged over.
+     */
+    private int shortWindow = 10;
+
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Fraction of the limit each priority may fill, so lower priorities are shed first as the limit shrinks.
+     */
+    private Map<Priority, Double> shares = new EnumMap<>(Map.of(Priority.LOW, 0.5, Priority.NORMAL, 1.0));
+
+    /**
+     * Requests given a priority other than NORMAL, matched in order against their method and path pattern.
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * Path patterns that are neither limited nor sampled.
+     */
+    private List<String> excluded = new ArrayList<>(List.of("/actuator/**"));
+
+    public double shareOf(Priority priority) {
+        return shares.getOrDefault(priority, 1.0);
+    }
+
+    public enum Priority {
+        LOW,
+        NORMAL
+    }
+
+    @Data
+    public static class Route {
+
+        /**
+         * HTTP method the route applies to; any method when empty.
+         */
+        private String method;
+
+        private String path;
+
+        private Priority priority = Priority.LOW;
+    }
+}
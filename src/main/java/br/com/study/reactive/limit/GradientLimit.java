@@ -0,0 +1,53 @@
+package br.com.study.reactive.limit;
+
+/**
+ * Concurrency limit driven by latency, after the gradient algorithm: while recent latency stays within the tolerated
+ * multiple of the long-term latency the limit grows by about its square root per sample, and as queueing pushes recent
+ * latency up the limit is scaled down by the ratio between both, to at most half per sample.
+ */
+final class GradientLimit {
+
+    private final ConcurrencyLimitProperties properties;
+
+    private double estimate;
+    private double shortRtt;
+    private double longRtt;
+    private volatile int limit;
+
+    GradientLimit(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.estimate = properties.getInitialLimit();
+        this.limit = properties.getInitialLimit();
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    synchronized void onSample(long rttNanos, int inFlight) {
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+        }
+
+        shortRtt += (rttNanos - shortRtt) / properties.getShortWindow();
+        longRtt += (rttNanos - longRtt) / properties.getLongWindow();
+
+        // After a lasting drop in latency the long-term average would keep the limit high for too long
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Too few requests in flight to tell anything about the limit
+        if (inFlight < estimate / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getTolerance() * longRtt / shortRtt));
+        double next = estimate * gradient + Math.sqrt(estimate);
+
+        estimate = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(),
+                estimate * (1 - properties.getSmoothing()) + next * properties.getSmoothing()));
+        limit = (int) estimate;
+    }
+}
@@ -0,0 +1,210 @@
+package br.com.study.reactive.metrics;
+
+import br.com.study.reactive.scheduler.ServiceSchedulers;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.concurrent.EventExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.LoopResources;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures how late tasks start on each Reactor Netty event loop and Reactor scheduler by submitting a probe task to
+ * each and timing how long it waits. The probes are driven from a dedicated thread, so a saturated pool cannot delay
+ * its own measurement, and a probe still waiting past the threshold is reported while the stall is in progress.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "reactive.event-loop-lag", name = "enabled", havingValue = "true")
+public class EventLoopLagMonitor implements SmartLifecycle {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final EventLoopLagProperties properties;
+    private final ServiceSchedulers schedulers;
+    private final MeterRegistry meterRegistry;
+    private final List<Probe> probes = new ArrayList<>();
+    private final List<Disposable> workers = new ArrayList<>();
+
+    private volatile Scheduler ticker;
+    private long nextRound = System.nanoTime();
+
+    public EventLoopLagMonitor(EventLoopLagProperties properties, ServiceSchedulers schedulers, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.schedulers = schedulers;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        int loop = 0;
+        for (EventExecutor executor : HttpResources.get().onServer(LoopResources.DEFAULT_NATIVE)) {
+            probes.add(new Probe("netty", String.valueOf(loop++), executor, true, "reactor-http"));
+        }
+
+        // Parallel workers are handed out round-robin, so one worker per thread probes every thread of the pool
+        for (int i = 0; i < Schedulers.DEFAULT_POOL_SIZE; i++) {
+            Scheduler.Worker worker = Schedulers.parallel().createWorker();
+            workers.add(worker);
+            probes.add(new Probe("parallel", String.valueOf(i), task -> worker.schedule(task), true, "parallel-"));
+        }
+
+        monitor("boundedElastic", Schedulers.boundedElastic());
+        monitor("cpu", schedulers.cpu());
+        monitor("bulk", schedulers.bulk());
+        monitor("blocking", schedulers.blocking());
+
+        // Checking at half the threshold catches a stall while the probe is still stuck behind it
+        long period = Math.max(10, properties.getThreshold().toMillis() / 2);
+        ticker = Schedulers.newSingle("event-loop-lag", true);
+        ticker.schedulePeriodically(this::tick, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ticker.dispose();
+        workers.forEach(Disposable::dispose);
+        workers.clear();
+        probes.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null && !ticker.isDisposed();
+    }
+
+    void monitor(String executor, Scheduler scheduler) {
+        probes.add(new Probe(executor, "0", task -> scheduler.schedule(task), false, executor + "-"));
+    }
+
+    void tick() {
+        long now = System.nanoTime();
+        boolean round = now - nextRound >= 0;
+
+        if (round) {
+            nextRound = now + properties.getInterval().toNanos();
+        }
+
+        for (Probe probe : probes) {
+            long submittedAt = probe.submittedAt;
+
+            if (submittedAt != 0) {
+                if (!probe.reported && now - submittedAt > properties.getThreshold().toNanos()) {
+                    probe.reported = true;
+                    stalled(probe, now - submittedAt, now);
+                }
+            } else if (round) {
+                probe.submit(now);
+            }
+        }
+    }
+
+    private void stalled(Probe probe, long lagNanos, long now) {
+        probe.stalls.increment();
+
+        boolean dump = now - probe.lastDump >= properties.getDumpCooldown().toNanos() || probe.lastDump == 0;
+
+        if (dump) {
+            probe.lastDump = now;
+        }
+
+        log.atWarn()
+                .addKeyValue("executor", probe.executor)
+                .addKeyValue("loop", probe.loop)
+                .addKeyValue("lagMs", TimeUnit.NANOSECONDS.toMillis(lagNanos))
+                .log("Probe on {} loop {} has waited {} ms{}", probe.executor, probe.loop,
+                        TimeUnit.NANOSECONDS.toMillis(lagNanos), dump ? "\n" + dump(probe) : "");
+    }
+
+    private String dump(Probe probe) {
+        // A loop is dumped alone once its thread is known; for a pool, the stall could be on any of its threads
+        Thread thread = probe.thread;
+        long[] ids = thread != null
+                ? new long[]{thread.getId()}
+                : Thread.getAllStackTraces().keySet().stream()
+                        .filter(candidate -> candidate.getName().startsWith(probe.threadPrefix))
+                        .mapToLong(Thread::getId)
+                        .toArray();
+
+        return Arrays.stream(THREADS.getThreadInfo(ids, properties.getDumpDepth()))
+                .filter(info -> info != null)
+                .map(EventLoopLagMonitor::format)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String format(ThreadInfo info) {
+        return Arrays.stream(info.getStackTrace())
+                .map(frame -> "\tat " + frame)
+                .collect(Collectors.joining("\n", "\"" + info.getThreadName() + "\" " + info.getThreadState() + "\n", ""));
+    }
+
+    private class Probe {
+
+        private final String executor;
+        private final String loop;
+        private final Executor target;
+        private final boolean pinned;
+        private final String threadPrefix;
+        private final Timer lag;
+        private final Counter stalls;
+
+        private volatile long submittedAt;
+        private volatile boolean reported;
+        private volatile Thread thread;
+        private long lastDump;
+
+        Probe(String executor, String loop, Executor target, boolean pinned, String threadPrefix) {
+            this.executor = executor;
+            this.loop = loop;
+            this.target = target;
+            this.pinned = pinned;
+            this.threadPrefix = threadPrefix;
+            this.lag = Timer.builder("event.loop.lag")
+                    .description("Time a probe task waited before running on an event loop or scheduler")
+                    .tag("executor", executor)
+                    .tag("loop", loop)
+                    .register(meterRegistry);
+            this.stalls = Counter.builder("event.loop.stalls")
+                    .description("Probes that waited longer than the stall threshold")
+                    .tag("executor", executor)
+                    .tag("loop", loop)
+                    .register(meterRegistry);
+        }
+
+        void submit(long now) {
+            reported = false;
+            submittedAt = now;
+
+            try {
+                target.execute(() -> {
+                    lag.record(System.nanoTime() - now, TimeUnit.NANOSECONDS);
+                    if (pinned) {
+                        thread = Thread.currentThread();
+                    }
+                    submittedAt = 0;
+                });
+            } catch (RejectedExecutionException e) {
+                // A full bounded queue is itself saturation; the next round tries again
+                submittedAt = 0;
+            }
+        }
+    }
+}
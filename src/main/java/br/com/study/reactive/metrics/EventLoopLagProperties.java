@@ -0,0 +1,33 @@
+package br.com.study.reactive.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("reactive.event-loop-lag")
+public class EventLoopLagProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * How often a probe task is submitted to each event loop and scheduler.
+     */
+    private Duration interval = Duration.ofSeconds(1);
+
+    /**
+     * A probe waiting longer than this counts as a stall and is reported with a dump of the stalled thread.
+     */
+    private Duration threshold = Duration.ofMillis(100);
+
+    /**
+     * Minimum time between thread dumps for the same loop; stalls within it are still counted and logged.
+     */
+    private Duration dumpCooldown = Duration.ofMinutes(1);
+
+    /**
+     * Frames kept per thread in a dump.
+     */
+    private int dumpDepth = 32;
+}
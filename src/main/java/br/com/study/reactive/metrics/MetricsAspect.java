@@ -0,0 +1,109 @@
+package br.com.study.reactive.metrics;
+
+import br.com.study.reactive.aop.ReactiveCallAspect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+@Aspect
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class MetricsAspect extends ReactiveCallAspect {
+
+    static final String CALLS = "reactive.calls";
+    static final String ELEMENTS = "reactive.calls.elements";
+    static final String ERRORS = "reactive.calls.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("br.com.study.reactive.aop.Pointcuts.controllerCalls() "
+            + "|| br.com.study.reactive.aop.Pointcuts.serviceCalls() "
+            + "|| br.com.study.reactive.aop.Pointcuts.repositoryCalls()")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        return decorate(joinPoint);
+    }
+
+    @Override
+    protected <T> Mono<T> decorate(String type, String method, Mono<T> mono) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Counter elements = elements(type, method);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+
+            return mono.doOnNext(element -> elements.increment())
+                    .doOnError(error::set)
+                    .doFinally(signal -> stop(sample, type, method, signal, error.get()));
+        });
+    }
+
+    @Override
+    protected <T> Flux<T> decorate(String type, String method, Flux<T> flux) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Counter elements = elements(type, method);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+
+            return flux.doOnNext(element -> elements.increment())
+                    .doOnError(error::set)
+                    .doFinally(signal -> stop(sample, type, method, signal, error.get()));
+        });
+    }
+
+    private Counter elements(String type, String method) {
+        return Counter.builder(ELEMENTS)
+                .tag("layer", layer(type))
+                .tag("class", type)
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+
+    private void stop(Timer.Sample sample, String type, String method, SignalType signal, Throwable error) {
+        String exception = error != null ? error.getClass().getSimpleName() : "none";
+
+        sample.stop(Timer.builder(CALLS)
+                .tag("layer", layer(type))
+                .tag("class", type)
+                .tag("method", method)
+                .tag("outcome", outcome(signal))
+                .tag("exception", exception)
+                .register(meterRegistry));
+
+        if (error != null) {
+            Counter.builder(ERRORS)
+                    .tag("layer", layer(type))
+                    .tag("class", type)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "success";
+        };
+    }
+
+    private static String layer(String type) {
+        if (type.endsWith("Controller")) {
+            return "controller";
+        }
+
+        return type.endsWith("Repository") ? "repository" : "service";
+    }
+}
@@ -1,9 +1,31 @@
 package br.com.study.reactive.repository;
 
 import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.AnimeSummary;
+import br.com.study.reactive.domain.VersionSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.Update;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface AnimeRepository extends ReactiveMongoRepository<Anime, String> {
-    Mono<Anime> findByName(String name);
+import java.util.Collection;
+
+public interface AnimeRepository extends ReactiveMongoRepository<Anime, String>, AnimeWriteRepository {
+    Mono<AnimeSummary> findSummaryByName(String name);
+
+    Mono<VersionSummary> findVersionByName(String name);
+
+    @Update("{ '$inc': { 'version': 1 } }")
+    Mono<Long> findAndIncrementVersionByName(String name);
+
+    Flux<AnimeSummary> findSummariesBy();
+
+    Flux<VersionSummary> findVersionsByIdIn(Collection<String> ids);
+
+    Flux<AnimeSummary> findByNameIn(Collection<String> names);
+
+    Flux<AnimeSummary> findAllByOrderByIdAsc(Limit limit);
+
+    Flux<AnimeSummary> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
@@ -0,0 +1,19 @@
+package br.com.study.reactive.repository;
+
+import br.com.study.reactive.domain.AnimeView;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface AnimeViewRepository extends ReactiveMongoRepository<AnimeView, String>, AnimeViewWriteRepository {
+    Mono<AnimeView> findByName(String name);
+
+    Flux<AnimeView> findByNameIn(Collection<String> names);
+
+    Mono<Long> deleteByName(String name);
+
+    Mono<Long> deleteByRefreshedAtBeforeOrRefreshedAtIsNull(Instant instant);
+}
@@ -0,0 +1,17 @@
+package br.com.study.reactive.repository;
+
+import br.com.study.reactive.domain.AnimeView;
+import reactor.core.publisher.Mono;
+
+/**
+ * Conditional view writes. A view carries the version of the anime it was joined from, so a refresh that read an
+ * older anime never replaces a view built from a newer one.
+ */
+public interface AnimeViewWriteRepository {
+
+    /**
+     * Inserts or replaces the view by id unless the stored one has a higher version. Returns the view, or empty when
+     * a newer one was kept.
+     */
+    Mono<AnimeView> saveUnlessNewer(AnimeView view);
+}
@@ -0,0 +1,27 @@
+package br.com.study.reactive.repository;
+
+import br.com.study.reactive.domain.AnimeView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+class AnimeViewWriteRepositoryImpl implements AnimeViewWriteRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<AnimeView> saveUnlessNewer(AnimeView view) {
+        long version = view.getVersion() == null ? 0 : view.getVersion();
+        Query query = Query.query(Criteria.where("id").is(view.getId())
+                .orOperator(Criteria.where(VersionedWrites.VERSION).lte(version), Criteria.where(VersionedWrites.VERSION).is(null)));
+
+        // A newer view fails the filter, so the upsert tries to insert a second document with its id and is rejected
+        return mongoTemplate.findAndReplace(query, view, FindAndReplaceOptions.options().upsert().returnNew())
+                .onErrorResume(DuplicateKeyException.class, error -> Mono.empty());
+    }
+}
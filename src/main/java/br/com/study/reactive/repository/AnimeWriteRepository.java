@@ -0,0 +1,17 @@
+package br.com.study.reactive.repository;
+
+import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.VersionSummary;
+import reactor.core.publisher.Mono;
+
+/**
+ * Single round-trip writes by name. When {@code expected} is given the write only applies to that document id and
+ * version (a {@code null} id or version matches any); otherwise it is unconditional. Both return the document as it
+ * was before the write, or empty when nothing matched.
+ */
+public interface AnimeWriteRepository {
+
+    Mono<Anime> findAndModifyByName(String name, Anime changes, VersionSummary expected);
+
+    Mono<Anime> findAndRemoveByName(String name, VersionSummary expected);
+}
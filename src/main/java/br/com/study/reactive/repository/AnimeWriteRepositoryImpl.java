@@ -0,0 +1,31 @@
+package br.com.study.reactive.repository;
+
+import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.VersionSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+class AnimeWriteRepositoryImpl implements AnimeWriteRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Anime> findAndModifyByName(String name, Anime changes, VersionSummary expected) {
+        // Only fields present in the request are written; the version moves like a Spring Data save would move it
+        Update update = new Update().inc(VersionedWrites.VERSION, 1);
+
+        if (changes.getName() != null) {
+            update.set("name", changes.getName());
+        }
+
+        return mongoTemplate.findAndModify(VersionedWrites.query("name", name, expected), update, Anime.class);
+    }
+
+    @Override
+    public Mono<Anime> findAndRemoveByName(String name, VersionSummary expected) {
+        return mongoTemplate.findAndRemove(VersionedWrites.query("name", name, expected), Anime.class);
+    }
+}
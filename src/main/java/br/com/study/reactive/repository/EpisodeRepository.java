@@ -1,12 +1,35 @@
 package br.com.study.reactive.repository;
 
 import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.domain.EpisodeSummary;
+import br.com.study.reactive.domain.VersionSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.Update;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface EpisodeRepository extends ReactiveMongoRepository<Episode, String> {
-    Flux<Episode> findByName(String name);
+import java.util.Collection;
 
-    Mono<Episode> findByTitle(String name);
+public interface EpisodeRepository extends ReactiveMongoRepository<Episode, String>, EpisodeWriteRepository {
+    Flux<EpisodeSummary> findSummariesBy();
+
+    Flux<EpisodeSummary> findByName(String name);
+
+    Flux<EpisodeSummary> findByNameIn(Collection<String> names);
+
+    Mono<EpisodeSummary> findSummaryByTitle(String title);
+
+    Mono<VersionSummary> findVersionByTitle(String title);
+
+    Flux<VersionSummary> findVersionsByIdIn(Collection<String> ids);
+
+    @Update("{ '$set': { 'name': ?1 }, '$inc': { 'version': 1 } }")
+    Mono<Long> findAndRenameByName(String name, String newName);
+
+    Mono<Long> deleteByName(String name);
+
+    Flux<EpisodeSummary> findAllByOrderByIdAsc(Limit limit);
+
+    Flux<EpisodeSummary> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
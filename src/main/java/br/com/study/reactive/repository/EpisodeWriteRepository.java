@@ -0,0 +1,16 @@
+package br.com.study.reactive.repository;
+
+import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.domain.VersionSummary;
+import reactor.core.publisher.Mono;
+
+/**
+ * Single round-trip writes by title, with the same optional version check and before-image result as
+ * {@link AnimeWriteRepository}.
+ */
+public interface EpisodeWriteRepository {
+
+    Mono<Episode> findAndModifyByTitle(String title, Episode changes, VersionSummary expected);
+
+    Mono<Episode> findAndRemoveByTitle(String title, VersionSummary expected);
+}
@@ -0,0 +1,34 @@
+package br.com.study.reactive.repository;
+
+import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.domain.VersionSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+class EpisodeWriteRepositoryImpl implements EpisodeWriteRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Episode> findAndModifyByTitle(String title, Episode changes, VersionSummary expected) {
+        Update update = new Update().inc(VersionedWrites.VERSION, 1);
+
+        if (changes.getName() != null) {
+            update.set("name", changes.getName());
+        }
+
+        if (changes.getTitle() != null) {
+            update.set("title", changes.getTitle());
+        }
+
+        return mongoTemplate.findAndModify(VersionedWrites.query("title", title, expected), update, Episode.class);
+    }
+
+    @Override
+    public Mono<Episode> findAndRemoveByTitle(String title, VersionSummary expected) {
+        return mongoTemplate.findAndRemove(VersionedWrites.query("title", title, expected), Episode.class);
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.study.reactive.repository;
+
+import br.com.study.reactive.domain.VersionSummary;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Arrays;
+import java.util.List;
+
+final class VersionedWrites {
+
+    static final String VERSION = "version";
+
+    private static final String ID = "id";
+
+    private VersionedWrites() {
+    }
+
+    static Query query(String key, String value, VersionSummary expected) {
+        Criteria criteria = Criteria.where(key).is(value);
+
+        if (expected != null && expected.getId() != null) {
+            criteria.and(ID).is(expected.getId());
+        }
+
+        // Documents written before versioning have no version field; their ETags carry version 0
+        if (expected != null && expected.getVersion() != null) {
+            criteria.and(VERSION).in(expected.getVersion() == 0 ? Arrays.asList(0L, null) : List.of(expected.getVersion()));
+        }
+
+        return Query.query(criteria);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.study.reactive.resilience;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class CallTimeoutException extends RuntimeException {
+
+    public CallTimeoutException(String type, String method, Duration timeout) {
+        super(type + "." + method + " did not answer within " + timeout);
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.study.reactive.resilience;
+
+import lombok.Value;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Count based circuit breaker: opens when the failure rate over the most recent calls crosses the threshold, fails
+ * calls fast while open, then admits a few probes and closes only if all of them succeed.
+ */
+public class CircuitBreaker {
+
+    /**
+     * Returned by {@link #tryAcquire()} when the call is not admitted.
+     */
+    static final long REJECTED = -1;
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final ResilienceProperties.CircuitBreakerSettings settings;
+    private final Clock clock;
+    private final boolean[] outcomes;
+
+    private int next;
+    private int calls;
+    private int failures;
+    private int probesInFlight;
+    private int probesSucceeded;
+    private String lastError;
+
+    private State state = State.CLOSED;
+    private Instant since;
+    private String reason = "started";
+    private long transitions;
+    // Bumped on every transition; a permit carries the generation it was acquired in
+    private long generation;
+
+    public CircuitBreaker(String name, ResilienceProperties.CircuitBreakerSettings settings, Clock clock) {
+        this.name = name;
+        this.settings = settings;
+        this.clock = clock;
+        this.outcomes = new boolean[settings.getWindowSize()];
+        this.since = clock.instant();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getTransitions() {
+        return transitions;
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(state, calls == 0 ? 0 : (double) failures / calls, calls, since, reason);
+    }
+
+    /**
+     * Admits a call and returns the permit to report its outcome with, or {@link #REJECTED}.
+     */
+    synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(since.plus(settings.getOpenDuration()))) {
+                return REJECTED;
+            }
+
+            transition(State.HALF_OPEN, "open for " + settings.getOpenDuration() + ", probing");
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= settings.getHalfOpenCalls()) {
+                return REJECTED;
+            }
+
+            probesInFlight++;
+        }
+
+        return generation;
+    }
+
+    // Outcomes of calls admitted before the last transition arrive late and are ignored, so a call admitted while
+    // closed cannot pass for a probe
+    synchronized void onSuccess(long permit) {
+        if (permit != generation) {
+            return;
+        }
+
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+
+            if (++probesSucceeded >= settings.getHalfOpenCalls()) {
+                transition(State.CLOSED, probesSucceeded + " probes succeeded");
+            }
+
+            return;
+        }
+
+        record(false, null);
+    }
+
+    synchronized void onFailure(long permit, Throwable error) {
+        if (permit != generation) {
+            return;
+        }
+
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            transition(State.OPEN, "probe failed with " + error.getClass().getSimpleName());
+            return;
+        }
+
+        record(true, error);
+    }
+
+    // A cancelled call says nothing about the downstream, but a cancelled probe must give its slot back
+    synchronized void onCancel(long permit) {
+        if (permit == generation && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    private void record(boolean failure, Throwable error) {
+        if (calls == outcomes.length) {
+            failures -= outcomes[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+
+        outcomes[next] = failure;
+        failures += failure ? 1 : 0;
+        lastError = failure ? error.getClass().getSimpleName() : lastError;
+        next = (next + 1) % outcomes.length;
+
+        double failureRate = (double) failures / calls;
+
+        // A success can be the call that fills the window up to the minimum, so the last error is kept aside
+        if (calls >= settings.getMinimumCalls() && failureRate >= settings.getFailureRateThreshold()) {
+            transition(State.OPEN, String.format("failure rate %.0f%% over the last %d calls, last error %s",
+                    failureRate * 100, calls, lastError));
+        }
+    }
+
+    private void transition(State target, String why) {
+        state = target;
+        since = clock.instant();
+        reason = why;
+        transitions++;
+        generation++;
+        probesInFlight = 0;
+        probesSucceeded = 0;
+
+        if (target == State.CLOSED) {
+            next = 0;
+            calls = 0;
+            failures = 0;
+        }
+    }
+
+    @Value
+    public static class Snapshot {
+
+        State state;
+        double failureRate;
+        int calls;
+        Instant since;
+        String reason;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.study.reactive.resilience;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    public CircuitBreakerOpenException(String name) {
+        super("Circuit breaker " + name + " is open");
+    }
+}
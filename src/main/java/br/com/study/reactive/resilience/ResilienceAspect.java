@@ -0,0 +1,112 @@
+package br.com.study.reactive.resilience;
+
+import br.com.study.reactive.aop.ReactiveCallAspect;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds every repository call with a timeout, retries failed reads within the retry budget and routes every attempt
+ * through the repository's circuit breaker. Runs inside the metrics aspect, so retries show up as one slower call, and
+ * outside fault injection, so injected faults are handled like real ones.
+ */
+@Aspect
+@Component
+@Order(100)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "reactive.resilience", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResilienceAspect extends ReactiveCallAspect {
+
+    private final ResilienceProperties properties;
+    private final ResilienceRegistry registry;
+
+    @Around("br.com.study.reactive.aop.Pointcuts.repositoryCalls()")
+    public Object protect(ProceedingJoinPoint joinPoint) throws Throwable {
+        return decorate(joinPoint);
+    }
+
+    @Override
+    protected <T> Mono<T> decorate(String type, String method, Mono<T> mono) {
+        return decorate(type, method, mono.flux()).singleOrEmpty();
+    }
+
+    @Override
+    protected <T> Flux<T> decorate(String type, String method, Flux<T> flux) {
+        CircuitBreaker breaker = registry.breaker(type);
+        RetryBudget retryBudget = registry.getRetryBudget();
+        Duration timeout = properties.timeoutOf(type, method);
+        int maxRetries = properties.maxRetriesOf(type, method);
+
+        return Flux.defer(() -> {
+            // Once elements reached the subscriber a retry would emit them twice
+            AtomicBoolean emitted = new AtomicBoolean();
+            retryBudget.deposit();
+
+            Flux<T> attempt = Flux.defer(() -> {
+                long permit = breaker.tryAcquire();
+
+                if (permit == CircuitBreaker.REJECTED) {
+                    registry.rejected(type, method);
+                    return Flux.error(new CircuitBreakerOpenException(type));
+                }
+
+                // Only the wait for the first element is bounded; after that the subscriber sets the pace
+                return flux.timeout(Mono.delay(timeout), element -> Mono.never())
+                        .onErrorMap(TimeoutException.class, error -> new CallTimeoutException(type, method, timeout))
+                        .doOnNext(element -> emitted.set(true))
+                        .doOnError(error -> {
+                            if (isFailure(error)) {
+                                breaker.onFailure(permit, error);
+                            } else {
+                                breaker.onSuccess(permit);
+                            }
+                        })
+                        .doFinally(signal -> {
+                            if (signal == SignalType.ON_COMPLETE) {
+                                breaker.onSuccess(permit);
+                            } else if (signal == SignalType.CANCEL) {
+                                breaker.onCancel(permit);
+                            }
+                        });
+            });
+
+            if (maxRetries == 0) {
+                return attempt;
+            }
+
+            return attempt.retryWhen(Retry.backoff(maxRetries, properties.getMinBackoff())
+                    .maxBackoff(properties.getMaxBackoff())
+                    .jitter(0.5)
+                    .filter(error -> !emitted.get() && isFailure(error) && withdraw(retryBudget, type, method))
+                    .doBeforeRetry(signal -> registry.retried(type, method))
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+        });
+    }
+
+    private boolean withdraw(RetryBudget retryBudget, String type, String method) {
+        if (retryBudget.tryWithdraw()) {
+            return true;
+        }
+
+        registry.retryRejected(type, method);
+        return false;
+    }
+
+    // Constraint violations are the caller's fault and an open breaker already failed fast; neither says Mongo is unwell
+    private static boolean isFailure(Throwable error) {
+        return !(error instanceof DataIntegrityViolationException) && !(error instanceof CircuitBreakerOpenException);
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.study.reactive.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties("reactive.resilience")
+public class ResilienceProperties {
+
+    /**
+     * Whether repository calls get timeouts, retries and circuit breakers. When false no aspect is registered.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum wait for a Mono to complete, or for a Flux to emit its first element.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * Retries after a failed read. Writes and findAnd* calls are never retried, since they may already have been applied.
+     */
+    private int maxRetries = 2;
+
+    private Duration minBackoff = Duration.ofMillis(20);
+
+    private Duration maxBackoff = Duration.ofMillis(200);
+
+    /**
+     * Overrides keyed by repository simple name and then by method name.
+     */
+    private Map<String, Map<String, Operation>> operations = new HashMap<>();
+
+    private RetryBudgetSettings retryBudget = new RetryBudgetSettings();
+
+    private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+
+    public Duration timeoutOf(String repository, String method) {
+        Operation operation = find(repository, method);
+
+        return operation != null && operation.getTimeout() != null ? operation.getTimeout() : timeout;
+    }
+
+    public int maxRetriesOf(String repository, String method) {
+        if (!isRead(method)) {
+            return 0;
+        }
+
+        Operation operation = find(repository, method);
+
+        return operation != null && operation.getMaxRetries() != null ? operation.getMaxRetries() : maxRetries;
+    }
+
+    private Operation find(String repository, String method) {
+        Map<String, Operation> methods = operations.get(repository);
+
+        return methods != null ? methods.get(method) : null;
+    }
+
+    private static boolean isRead(String method) {
+        return method.startsWith("find") && !method.startsWith("findAnd")
+                || method.startsWith("count")
+                || method.startsWith("exists");
+    }
+
+    @Data
+    public static class Operation {
+
+        private Duration timeout;
+
+        private Integer maxRetries;
+    }
+
+    @Data
+    public static class RetryBudgetSettings {
+
+        /**
+         * Retries earned per call, so retries add at most this fraction of load on top of the calls themselves.
+         */
+        private double ratio = 0.1;
+
+        /**
+         * Retries allowed regardless of traffic, so a quiet node can still retry the odd failure.
+         */
+        private double minRetriesPerSecond = 5;
+
+        /**
+         * Cap on saved up retries, bounding the burst a long quiet period can release.
+         */
+        private double maxTokens = 50;
+    }
+
+    @Data
+    public static class CircuitBreakerSettings {
+
+        /**
+         * Fraction of failed calls, between 0 and 1, over the window that opens the breaker.
+         */
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * Number of most recent calls the failure rate is computed over.
+         */
+        private int windowSize = 100;
+
+        /**
+         * Calls the window must hold before the failure rate is trusted.
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * How long an open breaker fails calls fast before letting probes through.
+         */
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        /**
+         * Probe calls admitted while half open; the breaker closes once all of them succeeded.
+         */
+        private int halfOpenCalls = 5;
+    }
+}
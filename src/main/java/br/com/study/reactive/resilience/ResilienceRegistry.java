@@ -0,0 +1,99 @@
+package br.com.study.reactive.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * One circuit breaker per repository, since all of a repository's calls degrade together when its collection or the
+ * server struggles, and one retry budget for the whole node.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reactive.resilience", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResilienceRegistry {
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final RetryBudget retryBudget;
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResilienceRegistry(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    ResilienceRegistry(ResilienceProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.retryBudget = new RetryBudget(properties.getRetryBudget(), clock);
+
+        Gauge.builder("resilience.retry.budget", retryBudget, RetryBudget::getTokens)
+                .description("Retries currently available to repository calls")
+                .register(meterRegistry);
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    public CircuitBreaker breaker(String name) {
+        return breakers.computeIfAbsent(name, this::register);
+    }
+
+    public Map<String, CircuitBreaker.Snapshot> snapshots() {
+        Map<String, CircuitBreaker.Snapshot> snapshots = new TreeMap<>();
+        breakers.forEach((name, breaker) -> snapshots.put(name, breaker.snapshot()));
+
+        return snapshots;
+    }
+
+    void retried(String repository, String method) {
+        counter("resilience.retries", "Repository calls retried after a failure", repository, method).increment();
+    }
+
+    void retryRejected(String repository, String method) {
+        counter("resilience.retries.rejected", "Retries skipped because the retry budget was spent", repository, method)
+                .increment();
+    }
+
+    void rejected(String repository, String method) {
+        counter("resilience.breaker.rejected", "Repository calls failed fast by an open circuit breaker", repository, method)
+                .increment();
+    }
+
+    private Counter counter(String name, String description, String repository, String method) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+
+    // The state gauge reads 0 closed, 1 open and 2 half open
+    private CircuitBreaker register(String name) {
+        CircuitBreaker breaker = new CircuitBreaker(name, properties.getCircuitBreaker(), clock);
+
+        Gauge.builder("resilience.breaker.state", breaker, candidate -> candidate.getState().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half open")
+                .tag("repository", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("resilience.breaker.transitions", breaker, CircuitBreaker::getTransitions)
+                .description("Circuit breaker state changes")
+                .tag("repository", name)
+                .register(meterRegistry);
+
+        return breaker;
+    }
+}
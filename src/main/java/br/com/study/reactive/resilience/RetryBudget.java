@@ -0,0 +1,50 @@
+package br.com.study.reactive.resilience;
+
+import java.time.Clock;
+
+/**
+ * Token bucket shared by all retries: every call earns a fraction of a retry, every retry spends a whole one, and a
+ * small steady refill keeps quiet periods from starving retries. When Mongo is failing for everyone the bucket drains
+ * and retries stop, instead of multiplying the load on it.
+ */
+public class RetryBudget {
+
+    private final ResilienceProperties.RetryBudgetSettings settings;
+    private final Clock clock;
+
+    private double tokens;
+    private long refilledAt;
+
+    public RetryBudget(ResilienceProperties.RetryBudgetSettings settings, Clock clock) {
+        this.settings = settings;
+        this.clock = clock;
+        this.tokens = settings.getMaxTokens();
+        this.refilledAt = clock.millis();
+    }
+
+    public synchronized double getTokens() {
+        refill();
+        return tokens;
+    }
+
+    synchronized void deposit() {
+        tokens = Math.min(settings.getMaxTokens(), tokens + settings.getRatio());
+    }
+
+    synchronized boolean tryWithdraw() {
+        refill();
+
+        if (tokens < 1) {
+            return false;
+        }
+
+        tokens--;
+        return true;
+    }
+
+    private void refill() {
+        long now = clock.millis();
+        tokens = Math.min(settings.getMaxTokens(), tokens + (now - refilledAt) / 1000.0 * settings.getMinRetriesPerSecond());
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.study.reactive.scheduler;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("reactive.schedulers")
+public class SchedulerProperties {
+
+    /**
+     * For calls that block a thread, e.g. libraries without a reactive API. Never run them on the event loops.
+     */
+    private Pool blocking = new Pool(64, 10_000);
+
+    /**
+     * For CPU-bound mapping of large results. Zero threads means one per available processor.
+     */
+    private Pool cpu = new Pool(0, 10_000);
+
+    /**
+     * For imports, exports and maintenance jobs, kept small so they cannot crowd out request handling.
+     */
+    private Pool bulk = new Pool(2, 1_000);
+
+    /**
+     * Whether the blocking scheduler runs each task on its own virtual thread when the JDK supports them (21+).
+     */
+    private boolean virtualThreads = false;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+
+        private int threads;
+
+        /**
+         * Tasks waiting for a thread beyond this are rejected, failing the pipeline instead of queueing without bound.
+         */
+        private int queueCapacity;
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.study.reactive.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.NonBlocking;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Named schedulers for the service layer. Each runs on its own bounded pool, monitored under the executor metrics
+ * tagged with its name: queued and active tasks, time spent waiting in the queue (executor.idle) and running (executor).
+ */
+@Slf4j
+@Component
+public class ServiceSchedulers implements DisposableBean {
+
+    private final Scheduler blocking;
+    private final Scheduler cpu;
+    private final Scheduler bulk;
+
+    public ServiceSchedulers(SchedulerProperties properties, MeterRegistry meterRegistry) {
+        this.blocking = properties.isVirtualThreads()
+                ? virtual("blocking", properties.getBlocking(), meterRegistry)
+                : bounded("blocking", properties.getBlocking(), false, meterRegistry);
+        this.cpu = bounded("cpu", properties.getCpu(), true, meterRegistry);
+        this.bulk = bounded("bulk", properties.getBulk(), false, meterRegistry);
+    }
+
+    public Scheduler blocking() {
+        return blocking;
+    }
+
+    public Scheduler cpu() {
+        return cpu;
+    }
+
+    public Scheduler bulk() {
+        return bulk;
+    }
+
+    @Override
+    public void destroy() {
+        blocking.dispose();
+        cpu.dispose();
+        bulk.dispose();
+    }
+
+    private static Scheduler bounded(String name, SchedulerProperties.Pool pool, boolean nonBlocking,
+                                     MeterRegistry meterRegistry) {
+        int threads = pool.getThreads() > 0 ? pool.getThreads() : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(pool.getQueueCapacity()), threadFactory(name, nonBlocking));
+        executor.allowCoreThreadTimeOut(true);
+
+        return Schedulers.fromExecutorService(ExecutorServiceMetrics.monitor(meterRegistry, executor, name), name);
+    }
+
+    // Virtual threads are not pooled, so there is no queue to report; the task timers still are
+    private static Scheduler virtual(String name, SchedulerProperties.Pool fallback, MeterRegistry meterRegistry) {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+
+            return Schedulers.fromExecutorService(ExecutorServiceMetrics.monitor(meterRegistry, executor, name), name);
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads are not available on Java {}, the {} scheduler uses a bounded pool",
+                    Runtime.version().feature(), name);
+
+            return bounded(name, fallback, false, meterRegistry);
+        }
+    }
+
+    // Threads of a non-blocking scheduler are flagged like Reactor's parallel ones, so BlockHound reports blocking there
+    private static ThreadFactory threadFactory(String name, boolean nonBlocking) {
+        AtomicInteger counter = new AtomicInteger();
+
+        return runnable -> {
+            String threadName = name + "-" + counter.incrementAndGet();
+            Thread thread = nonBlocking ? new NonBlockingThread(runnable, threadName) : new Thread(runnable, threadName);
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+
+    private static class NonBlockingThread extends Thread implements NonBlocking {
+
+        NonBlockingThread(Runnable runnable, String name) {
+            super(runnable, name);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.study.reactive.service;
+
+import br.com.study.reactive.domain.AnimeSummary;
+import br.com.study.reactive.dto.AnimeResponse;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Anime fields selected with {@code fields=} and {@code include=}. Without either parameter every field is returned,
+ * so existing clients keep receiving the embedded episodes.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AnimeFields {
+
+    public static final String ID = "id";
+    public static final String NAME = "name";
+    public static final String EPISODES = "episodes";
+
+    public static final AnimeFields ALL = new AnimeFields(true, true, true);
+
+    private static final Set<String> FIELDS = Set.of(ID, NAME, EPISODES);
+    private static final Set<String> INCLUDES = Set.of(EPISODES);
+
+    private final boolean id;
+    private final boolean name;
+    private final boolean episodes;
+
+    public static AnimeFields of(Set<String> fields, Set<String> include) {
+        validate(fields, FIELDS, "field");
+        validate(include, INCLUDES, "include");
+
+        if (fields == null || fields.isEmpty()) {
+            return ALL;
+        }
+
+        Set<String> selected = new HashSet<>(fields);
+
+        if (include != null) {
+            selected.addAll(include);
+        }
+
+        return new AnimeFields(selected.contains(ID), selected.contains(NAME), selected.contains(EPISODES));
+    }
+
+    // Each field selection is its own representation, so it needs its own entity tag
+    String variant() {
+        if (this == ALL) {
+            return "";
+        }
+
+        return (id ? "-" + ID : "") + (name ? "-" + NAME : "") + (episodes ? "-" + EPISODES : "");
+    }
+
+    AnimeResponse apply(AnimeSummary anime) {
+        return AnimeResponse.builder()
+                .id(id ? anime.getId() : null)
+                .name(name ? anime.getName() : null)
+                .version(anime.getVersion())
+                .build();
+    }
+
+    AnimeResponse apply(AnimeResponse anime) {
+        if (this == ALL) {
+            return anime;
+        }
+
+        return AnimeResponse.builder()
+                .id(id ? anime.getId() : null)
+                .name(name ? anime.getName() : null)
+                .episodes(episodes ? anime.getEpisodes() : null)
+                .version(anime.getVersion())
+                .build();
+    }
+
+    private static void validate(Set<String> values, Set<String> supported, String parameter) {
+        if (values == null) {
+            return;
+        }
+
+        for (String value : values) {
+            if (!supported.contains(value)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown " + parameter + ": " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package br.com.study.reactive.service;
+
+import br.com.study.reactive.config.ReadModelProperties;
+import br.com.study.reactive.domain.AnimeSummary;
+import br.com.study.reactive.domain.AnimeView;
+import br.com.study.reactive.dto.AnimeResponse;
+import br.com.study.reactive.dto.EpisodeResponse;
+import br.com.study.reactive.dto.ReadModelReport;
+import br.com.study.reactive.repository.AnimeRepository;
+import br.com.study.reactive.repository.AnimeViewRepository;
+import br.com.study.reactive.repository.EpisodeRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@AllArgsConstructor
+@Service
+public class AnimeReadModel {
+
+    private final AnimeRepository animeRepository;
+    private final EpisodeRepository episodeRepository;
+    private final AnimeViewRepository animeViewRepository;
+    private final ReadModelProperties properties;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Flux<AnimeResponse> findAll() {
+        return animeViewRepository.findAll()
+                .map(AnimeReadModel::toResponse);
+    }
+
+    public Mono<AnimeResponse> findByName(String name) {
+        return animeViewRepository.findByName(name)
+                .map(AnimeReadModel::toResponse);
+    }
+
+    public Mono<Void> refresh(String name) {
+        if (!properties.isEnabled() || name == null) {
+            return Mono.empty();
+        }
+
+        // Concurrent refreshes of one anime can finish in any order; the view keeps the one joined from the newest anime
+        return animeRepository.findSummaryByName(name)
+                .flatMapMany(anime -> join(List.of(anime), Instant.now()))
+                .flatMap(view -> animeViewRepository.saveUnlessNewer(view).thenReturn(view))
+                .hasElements()
+                .flatMap(found -> found ? Mono.empty() : animeViewRepository.deleteByName(name).then());
+    }
+
+    public Mono<Long> rebuild() {
+        Instant startedAt = Instant.now();
+
+        // A view refreshed by a concurrent write was joined from a newer anime, so the rebuild leaves it in place; it also
+        // carries a newer timestamp, so only documents the rebuild did not touch are removed
+        return animeRepository.findSummariesBy()
+                .buffer(properties.getBatchSize())
+                .concatMap(animes -> join(animes, Instant.now())
+                        .flatMap(view -> animeViewRepository.saveUnlessNewer(view).thenReturn(view)))
+                .count()
+                .flatMap(count -> animeViewRepository.deleteByRefreshedAtBeforeOrRefreshedAtIsNull(startedAt).thenReturn(count));
+    }
+
+    public Mono<ReadModelReport> verify() {
+        Flux<Tuple2<Finding, String>> fromSources = animeRepository.findSummariesBy()
+                .buffer(properties.getBatchSize())
+                .concatMap(animes -> join(animes, null).collectList()
+                        .zipWith(animeViewRepository.findByNameIn(names(animes)).collectMap(AnimeView::getName))
+                        .flatMapIterable(expectedAndActual -> compare(expectedAndActual.getT1(), expectedAndActual.getT2())));
+
+        Flux<Tuple2<Finding, String>> fromViews = animeViewRepository.findAll()
+                .buffer(properties.getBatchSize())
+                .concatMap(views -> animeRepository.findByNameIn(views.stream().map(AnimeView::getName).toList())
+                        .map(AnimeSummary::getName)
+                        .collect(Collectors.toSet())
+                        .flatMapIterable(existing -> views.stream()
+                                .map(AnimeView::getName)
+                                .filter(name -> !existing.contains(name))
+                                .map(name -> Tuples.of(Finding.ORPHANED, name))
+                                .toList()));
+
+        return Flux.concat(fromSources, fromViews)
+                .collectMultimap(Tuple2::getT1, Tuple2::getT2)
+                .map(findings -> ReadModelReport.builder()
+                        .checked(findings.getOrDefault(Finding.CHECKED, List.of()).size())
+                        .missing(List.copyOf(findings.getOrDefault(Finding.MISSING, List.of())))
+                        .stale(List.copyOf(findings.getOrDefault(Finding.STALE, List.of())))
+                        .orphaned(List.copyOf(findings.getOrDefault(Finding.ORPHANED, List.of())))
+                        .build());
+    }
+
+    private Flux<AnimeView> join(List<AnimeSummary> animes, Instant refreshedAt) {
+        return episodeRepository.findByNameIn(names(animes))
+                .map(episode -> EpisodeResponse.builder()
+                        .id(episode.getId())
+                        .title(episode.getTitle())
+                        .name(episode.getName())
+                        .build())
+                .collect(Collectors.groupingBy(EpisodeResponse::getName))
+                .flatMapIterable(episodesByName -> animes.stream()
+                        .map(anime -> AnimeView.builder()
+                                .id(anime.getId())
+                                .name(anime.getName())
+                                .episodes(episodesByName.getOrDefault(anime.getName(), List.of()))
+                                .version(anime.getVersion())
+                                .refreshedAt(refreshedAt)
+                                .build())
+                        .toList());
+    }
+
+    private static List<Tuple2<Finding, String>> compare(List<AnimeView> expected, Map<String, AnimeView> actual) {
+        List<Tuple2<Finding, String>> findings = new ArrayList<>();
+
+        for (AnimeView view : expected) {
+            findings.add(Tuples.of(Finding.CHECKED, view.getName()));
+
+            AnimeView stored = actual.get(view.getName());
+
+            if (stored == null) {
+                findings.add(Tuples.of(Finding.MISSING, view.getName()));
+            } else if (!sameContent(view, stored)) {
+                findings.add(Tuples.of(Finding.STALE, view.getName()));
+            }
+        }
+
+        return findings;
+    }
+
+    // Episodes come back in whatever order the $in query returned them, so they are compared as sets
+    private static boolean sameContent(AnimeView expected, AnimeView stored) {
+        return Objects.equals(expected.getId(), stored.getId())
+                && stored.getEpisodes() != null
+                && expected.getEpisodes().size() == stored.getEpisodes().size()
+                && new HashSet<>(expected.getEpisodes()).equals(new HashSet<>(stored.getEpisodes()));
+    }
+
+    private static Set<String> names(List<AnimeSummary> animes) {
+        return animes.stream()
+                .map(AnimeSummary::getName)
+                .collect(Collectors.toSet());
+    }
+
+    private static AnimeResponse toResponse(AnimeView view) {
+        return AnimeResponse.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .episodes(view.getEpisodes())
+                .version(view.getVersion())
+                .build();
+    }
+
+    private enum Finding {
+        CHECKED,
+        MISSING,
+        STALE,
+        ORPHANED
+    }
+}
@@ -1,14 +1,35 @@
 package br.com.study.reactive.service;
 
+import br.com.study.reactive.cache.AnimeResponseCache;
+import br.com.study.reactive.config.JoinProperties;
+import br.com.study.reactive.config.BatchProperties;
+import br.com.study.reactive.config.PagingProperties;
 import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.AnimeSummary;
+import br.com.study.reactive.domain.VersionSummary;
+import br.com.study.reactive.dto.BatchItemResult;
 import br.com.study.reactive.dto.AnimeResponse;
 import br.com.study.reactive.dto.EpisodeResponse;
+import br.com.study.reactive.dto.PageResponse;
 import br.com.study.reactive.repository.AnimeRepository;
 import br.com.study.reactive.repository.EpisodeRepository;
+import br.com.study.reactive.scheduler.ServiceSchedulers;
+import br.com.study.reactive.timing.StageTimings;
 import lombok.AllArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service
@@ -16,10 +37,118 @@ public class AnimeService {
 
     private final AnimeRepository animeRepository;
     private final EpisodeService episodeService;
+    private final JoinProperties joinProperties;
+    private final AnimeResponseCache animeResponseCache;
+    private final PagingProperties pagingProperties;
+    private final BatchProperties batchProperties;
+    private final AnimeReadModel animeReadModel;
+    private final Optional<TransactionalOperator> transactionalOperator;
+    private final ServiceSchedulers schedulers;
 
+    // Full listings are not coalesced: a shared load would hold every anime in memory until its last subscriber is done
     public Flux<AnimeResponse> findAll() {
-        return animeRepository.findAll()
-                .flatMap(anime -> {
+        if (animeReadModel.isEnabled()) {
+            return animeReadModel.findAll();
+        }
+
+        if (joinProperties.getMode() == JoinProperties.Mode.PER_ANIME) {
+            return findAllJoiningPerAnime();
+        }
+
+        return animeRepository.findSummariesBy()
+                .buffer(joinProperties.getBatchSize())
+                .concatMap(this::joinEpisodes);
+    }
+
+    public Flux<AnimeResponse> stream() {
+        if (animeReadModel.isEnabled()) {
+            return animeReadModel.findAll();
+        }
+
+        // No prefetch: the next chunk is only read from the cursor once the client has consumed the previous one
+        return animeRepository.findSummariesBy()
+                .buffer(joinProperties.getBatchSize())
+                .concatMap(this::joinEpisodes, 0);
+    }
+
+    public Flux<AnimeResponse> findAll(AnimeFields fields) {
+        if (!fields.isEpisodes()) {
+            return animeRepository.findSummariesBy().map(fields::apply);
+        }
+
+        return findAll().map(fields::apply);
+    }
+
+    public Flux<AnimeResponse> stream(AnimeFields fields) {
+        if (!fields.isEpisodes()) {
+            return animeRepository.findSummariesBy().map(fields::apply);
+        }
+
+        return stream().map(fields::apply);
+    }
+
+    public Mono<PageResponse<AnimeResponse>> findPage(int size, String after) {
+        return findPage(size, after, AnimeFields.ALL);
+    }
+
+    public Mono<PageResponse<AnimeResponse>> findPage(int size, String after, AnimeFields fields) {
+        return Mono.defer(() -> {
+            Limit limit = Limit.of(PageCursor.validateSize(size, pagingProperties.getMaximumSize()) + 1);
+
+            Flux<AnimeSummary> animes = after == null
+                    ? animeRepository.findAllByOrderByIdAsc(limit)
+                    : animeRepository.findByIdGreaterThanOrderByIdAsc(PageCursor.decode(after), limit);
+
+            // One extra row tells whether a next page exists without a count query
+            return animes.collectList().flatMap(page -> {
+                List<AnimeSummary> content = page.size() > size ? page.subList(0, size) : page;
+                String next = page.size() > size ? PageCursor.encode(content.get(size - 1).getId()) : null;
+
+                Flux<AnimeResponse> responses = content.isEmpty() || !fields.isEpisodes()
+                        ? Flux.fromIterable(content).map(fields::apply)
+                        : joinEpisodes(content).map(fields::apply);
+
+                return responses.collectList()
+                        .map(animeResponses -> PageResponse.<AnimeResponse>builder()
+                                .content(animeResponses)
+                                .next(next)
+                                .build());
+            });
+        });
+    }
+
+    public Mono<AnimeResponse> findByName(String name) {
+        return animeResponseCache.get(name, this::loadByName);
+    }
+
+    public Mono<String> findETag(String name, AnimeFields fields) {
+        return animeResponseCache.getVersion(name, animeRepository::findVersionByName)
+                .map(version -> ETags.of(version, fields.variant()));
+    }
+
+    public Mono<AnimeResponse> findByName(String name, AnimeFields fields) {
+        return findTaggedByName(name, fields).map(Tuple2::getT2);
+    }
+
+    /**
+     * Returns the anime with the ETag of the version it was built from. A cached body can be older than the version
+     * {@link #findETag} reads until the write that bumped it invalidates the cache, so it must not take that tag.
+     */
+    public Mono<Tuple2<String, AnimeResponse>> findTaggedByName(String name, AnimeFields fields) {
+        Mono<AnimeResponse> anime = fields.isEpisodes()
+                ? findByName(name)
+                : animeResponseCache.getSummary(name, animeRepository::findSummaryByName).map(AnimeFields.ALL::apply);
+
+        return anime.map(response -> Tuples.of(ETags.of(response.getId(), response.getVersion(), fields.variant()),
+                fields.apply(response)));
+    }
+
+    public Mono<AnimeResponse> create(Anime anime) {
+        return animeRepository.save(anime)
+                .flatMap(savedAnime -> animeReadModel.refresh(savedAnime.getName()).thenReturn(savedAnime))
+                .flatMap(savedAnime -> {
+                    animeResponseCache.invalidate(savedAnime.getName());
+
                     Flux<EpisodeResponse> episodesResponses = episodeService.findByName(anime.getName())
                             .flatMap(episode -> {
                                         EpisodeResponse episodeResponse = EpisodeResponse.builder()
@@ -36,13 +165,117 @@ public class AnimeService {
                             .map(episodes -> AnimeResponse.builder()
                                     .id(anime.getId())
                                     .name(anime.getName())
+                                    .version(savedAnime.getVersion())
                                     .episodes(episodes)
                                     .build());
                 });
     }
 
-    public Mono<AnimeResponse> findByName(String name) {
-        return animeRepository.findByName(name)
+    public Flux<BatchItemResult> createAll(Flux<Anime> animes) {
+        // Ids are assigned up front so every item can be reported, including those inserted before a failure
+        return animes.publishOn(schedulers.bulk())
+                .map(anime -> anime.getId() == null ? anime.withId(ObjectId.get().toHexString()) : anime)
+                .index()
+                .buffer(batchProperties.getSize())
+                .flatMapSequential(batch -> BatchInserts.insertOrdered(batch, animeRepository::insert, Anime::getId,
+                                ids -> animeRepository.findVersionsByIdIn(ids).map(VersionSummary::getId))
+                        .concatWith(Flux.fromIterable(batch)
+                                .map(item -> item.getT2().getName())
+                                .distinct()
+                                .concatMap(name -> animeReadModel.refresh(name)
+                                        .doFinally(signal -> animeResponseCache.invalidate(name)))
+                                .thenMany(Flux.empty())),
+                        batchProperties.getMaxInFlight());
+    }
+
+    public Mono<AnimeResponse> update(String name, Anime anime) {
+        return update(name, anime, null);
+    }
+
+    public Mono<AnimeResponse> update(String name, Anime anime, String ifMatch) {
+        return Mono.defer(() -> {
+            VersionSummary expected = ETags.parseIfMatch(ifMatch);
+
+            // A rename moves the episodes along with the anime, so neither the sweeper nor a reader finds them orphaned
+            Mono<Anime> rename = animeRepository.findAndModifyByName(name, anime, expected)
+                    .switchIfEmpty(expected == null ? Mono.empty() : ETags.preconditionFailed())
+                    .flatMap(previousAnime -> anime.getName() == null || anime.getName().equals(previousAnime.getName())
+                            ? Mono.just(previousAnime)
+                            : episodeService.renameAll(previousAnime.getName(), anime.getName()).thenReturn(previousAnime));
+
+            return transactionalOperator.map(operator -> operator.transactional(rename)).orElse(rename)
+                    .flatMap(previousAnime -> {
+                        String updatedName = anime.getName() == null ? previousAnime.getName() : anime.getName();
+
+                        return animeReadModel.refresh(previousAnime.getName())
+                                .then(animeReadModel.refresh(updatedName))
+                                .doFinally(signal -> {
+                                    animeResponseCache.invalidate(previousAnime.getName());
+                                    animeResponseCache.invalidate(updatedName);
+                                })
+                                .then(episodeService.findByName(updatedName).collectList())
+                                .map(episodes -> AnimeResponse.builder()
+                                        .id(previousAnime.getId())
+                                        .name(updatedName)
+                                        // The write bumped the version of the before-image it returned
+                                        .version(previousAnime.getVersion() == null ? 1L : previousAnime.getVersion() + 1)
+                                        .episodes(episodes)
+                                        .build());
+                    });
+        });
+    }
+
+    public Mono<AnimeResponse> delete(String name) {
+        return delete(name, null);
+    }
+
+    public Mono<AnimeResponse> delete(String name, String ifMatch) {
+        return Mono.defer(() -> {
+            VersionSummary expected = ETags.parseIfMatch(ifMatch);
+
+            // One delete per collection; the read model and the cache only change once both deletes went through
+            Mono<AnimeResponse> cascade = animeRepository.findAndRemoveByName(name, expected)
+                    .switchIfEmpty(expected == null ? Mono.empty() : ETags.preconditionFailed())
+                    .flatMap(anime -> episodeService.deleteByName(anime.getName())
+                            .map(deletedEpisodes -> AnimeResponse.builder()
+                                    .id(anime.getId())
+                                    .name(anime.getName())
+                                    .deletedEpisodes(deletedEpisodes)
+                                    .build()));
+
+            return transactionalOperator.map(operator -> operator.transactional(cascade)).orElse(cascade)
+                    .flatMap(response -> animeReadModel.refresh(response.getName())
+                            .doFinally(signal -> animeResponseCache.invalidate(response.getName()))
+                            .thenReturn(response));
+        });
+    }
+
+    private Flux<AnimeResponse> joinEpisodes(List<AnimeSummary> animes) {
+        Set<String> names = animes.stream()
+                .map(AnimeSummary::getName)
+                .collect(Collectors.toSet());
+
+        // Matching a chunk of animes to their episodes is plain CPU work, kept off the event loop that read the episodes
+        return episodeService.findByNames(names)
+                .publishOn(schedulers.cpu())
+                .transformDeferredContextual((episodes, context) -> episodes.map(episodesByName ->
+                        StageTimings.from(context).measure("join", () -> joinEpisodes(animes, episodesByName))))
+                .flatMapIterable(responses -> responses);
+    }
+
+    private List<AnimeResponse> joinEpisodes(List<AnimeSummary> animes, Map<String, List<EpisodeResponse>> episodesByName) {
+        return animes.stream()
+                .map(anime -> AnimeResponse.builder()
+                        .id(anime.getId())
+                        .name(anime.getName())
+                        .version(anime.getVersion())
+                        .episodes(episodesByName.getOrDefault(anime.getName(), List.of()))
+                        .build())
+                .toList();
+    }
+
+    private Flux<AnimeResponse> findAllJoiningPerAnime() {
+        return animeRepository.findSummariesBy()
                 .flatMap(anime -> {
                     Flux<EpisodeResponse> episodesResponses = episodeService.findByName(anime.getName())
                             .flatMap(episode -> {
@@ -60,66 +293,19 @@ public class AnimeService {
                             .map(episodes -> AnimeResponse.builder()
                                     .id(anime.getId())
                                     .name(anime.getName())
+                                    .version(anime.getVersion())
                                     .episodes(episodes)
                                     .build());
                 });
     }
 
-    public Mono<AnimeResponse> create(Anime anime) {
-        return animeRepository.save(anime).flatMap(savedAnime -> {
-            Flux<EpisodeResponse> episodesResponses = episodeService.findByName(anime.getName())
-                    .flatMap(episode -> {
-                                EpisodeResponse episodeResponse = EpisodeResponse.builder()
-                                        .id(episode.getId())
-                                        .name(episode.getName())
-                                        .title(episode.getTitle())
-                                        .build();
-
-                                return Mono.just(episodeResponse);
-                            }
-                    );
-
-            return episodesResponses.collectList()
-                    .map(episodes -> AnimeResponse.builder()
-                            .id(anime.getId())
-                            .name(anime.getName())
-                            .episodes(episodes)
-                            .build());
-        });
-    }
-
-    public Mono<AnimeResponse> update(String name, Anime anime) {
-        return animeRepository.findByName(name)
-                .flatMap(currentAnime -> animeRepository.save(anime)
-                        .flatMap(updatedAnime -> {
-
-                            Flux<EpisodeResponse> episodesResponses = episodeService.findByName(currentAnime.getName())
-                                    .flatMap(episode -> {
-                                                EpisodeResponse episodeResponse = EpisodeResponse.builder()
-                                                        .id(episode.getId())
-                                                        .name(episode.getName())
-                                                        .title(episode.getTitle())
-                                                        .build();
-
-                                                return Mono.just(episodeResponse);
-                                            }
-                                    );
-
-                            return episodesResponses.collectList()
-                                    .map(episodes -> AnimeResponse.builder()
-                                            .id(anime.getId())
-                                            .name(anime.getName())
-                                            .episodes(episodes)
-                                            .build());
-                        })
-                );
-    }
+    private Mono<AnimeResponse> loadByName(String name) {
+        if (animeReadModel.isEnabled()) {
+            return animeReadModel.findByName(name);
+        }
 
-    public Mono<AnimeResponse> delete(String name) {
-        return animeRepository.findByName(name)
+        return animeRepository.findSummaryByName(name)
                 .flatMap(anime -> {
-                    animeRepository.delete(anime);
-
                     Flux<EpisodeResponse> episodesResponses = episodeService.findByName(anime.getName())
                             .flatMap(episode -> {
                                         EpisodeResponse episodeResponse = EpisodeResponse.builder()
@@ -136,6 +322,7 @@ public class AnimeService {
                             .map(episodes -> AnimeResponse.builder()
                                     .id(anime.getId())
                                     .name(anime.getName())
+                                    .version(anime.getVersion())
                                     .episodes(episodes)
                                     .build());
                 });
@@ -0,0 +1,82 @@
+package br.com.study.reactive.service;
+
+import br.com.study.reactive.dto.BatchItemResult;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class BatchInserts {
+
+    private BatchInserts() {
+    }
+
+    /**
+     * Inserts the batch with one ordered insertMany. Ordered inserts stop at the first failing document, so on a
+     * write error everything before it is reported as created, the document itself as failed, and the rest is retried.
+     * Any other error, a timeout for instance, does not say how far the insert got: documents found by id afterwards
+     * are reported as created and the rest as unknown.
+     */
+    static <T> Flux<BatchItemResult> insertOrdered(List<Tuple2<Long, T>> items, Function<List<T>, Flux<T>> insertAll,
+                                                   Function<T, String> idOf,
+                                                   Function<List<String>, Flux<String>> existingIds) {
+        if (items.isEmpty()) {
+            return Flux.empty();
+        }
+
+        List<T> entities = items.stream().map(Tuple2::getT2).toList();
+
+        return insertAll.apply(entities)
+                .thenMany(Flux.fromIterable(items).map(item -> BatchItemResult.created(item.getT1(), idOf.apply(item.getT2()))))
+                .onErrorResume(error -> {
+                    BulkWriteError writeError = firstWriteError(error);
+
+                    if (writeError == null) {
+                        return reportWritten(items, idOf, existingIds, error);
+                    }
+
+                    int failed = writeError.getIndex();
+                    Tuple2<Long, T> failedItem = items.get(failed);
+
+                    return Flux.concat(
+                            Flux.fromIterable(items.subList(0, failed))
+                                    .map(item -> BatchItemResult.created(item.getT1(), idOf.apply(item.getT2()))),
+                            Mono.just(BatchItemResult.failed(failedItem.getT1(), idOf.apply(failedItem.getT2()), writeError.getMessage())),
+                            insertOrdered(items.subList(failed + 1, items.size()), insertAll, idOf, existingIds));
+                });
+    }
+
+    private static <T> Flux<BatchItemResult> reportWritten(List<Tuple2<Long, T>> items, Function<T, String> idOf,
+                                                           Function<List<String>, Flux<String>> existingIds, Throwable error) {
+        List<String> ids = items.stream().map(item -> idOf.apply(item.getT2())).toList();
+
+        // If the lookup fails too, nothing is known about any of them
+        return existingIds.apply(ids)
+                .collect(Collectors.toSet())
+                .onErrorReturn(Set.of())
+                .flatMapIterable(existing -> items.stream()
+                        .map(item -> {
+                            String id = idOf.apply(item.getT2());
+                            return existing.contains(id)
+                                    ? BatchItemResult.created(item.getT1(), id)
+                                    : BatchItemResult.unknown(item.getT1(), id, error.getMessage());
+                        })
+                        .toList());
+    }
+
+    private static BulkWriteError firstWriteError(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException bulkWriteException && !bulkWriteException.getWriteErrors().isEmpty()) {
+                return bulkWriteException.getWriteErrors().get(0);
+            }
+        }
+
+        return null;
+    }
+}
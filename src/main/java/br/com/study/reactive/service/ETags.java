@@ -0,0 +1,61 @@
+package br.com.study.reactive.service;
+
+import br.com.study.reactive.domain.VersionSummary;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+final class ETags {
+
+    private static final String ANY = "*";
+
+    private ETags() {
+    }
+
+    // Documents written before versioning have no version field yet; they count as the first version
+    static String of(VersionSummary summary, String variant) {
+        return of(summary.getId(), summary.getVersion(), variant);
+    }
+
+    static String of(String id, Long version, String variant) {
+        return id + "-" + (version == null ? 0 : version) + variant;
+    }
+
+    /**
+     * Turns an {@code If-Match} header into the id and version a write must still find, {@code null} for an
+     * unconditional write. {@code *} only requires the document to exist.
+     */
+    static VersionSummary parseIfMatch(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+
+        if (tag.equals(ANY)) {
+            return new VersionSummary(null, null);
+        }
+
+        // If-Match uses the strong comparison, so weak tags and tags of partial representations never match
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw preconditionFailedException();
+        }
+
+        String value = tag.substring(1, tag.length() - 1);
+        int separator = value.lastIndexOf('-');
+
+        try {
+            return new VersionSummary(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw preconditionFailedException();
+        }
+    }
+
+    static <T> Mono<T> preconditionFailed() {
+        return Mono.error(ETags::preconditionFailedException);
+    }
+
+    private static ResponseStatusException preconditionFailedException() {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Resource does not match If-Match");
+    }
+}
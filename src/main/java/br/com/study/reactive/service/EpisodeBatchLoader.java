@@ -0,0 +1,126 @@
+package br.com.study.reactive.service;
+
+import br.com.study.reactive.config.EpisodeLoaderProperties;
+import br.com.study.reactive.domain.EpisodeSummary;
+import br.com.study.reactive.repository.EpisodeRepository;
+import br.com.study.reactive.timing.StageTimings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Collects lookups of episodes by anime name made by independent callers and resolves them with one $in query per
+ * batch. A batch is dispatched when its window ends or when it holds the maximum number of distinct names, whichever
+ * comes first. The batched query runs outside any request, so its duration is recorded as the {@code episode-batch}
+ * stage of every timed request waiting on it.
+ */
+@Component
+public class EpisodeBatchLoader {
+
+    private final EpisodeRepository episodeRepository;
+    private final EpisodeLoaderProperties properties;
+    private final DistributionSummary batchSizes;
+
+    private final Object lock = new Object();
+    private Batch pending;
+
+    public EpisodeBatchLoader(EpisodeRepository episodeRepository, EpisodeLoaderProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.episodeRepository = episodeRepository;
+        this.properties = properties;
+        this.batchSizes = DistributionSummary.builder("episode.loader.batch.size")
+                .description("Distinct anime names resolved by one batched episode query")
+                .register(meterRegistry);
+    }
+
+    public Flux<EpisodeSummary> load(String name) {
+        if (!properties.isEnabled()) {
+            return episodeRepository.findByName(name);
+        }
+
+        return Mono.deferContextual(context -> enqueue(name, StageTimings.from(context)))
+                .flatMapIterable(episodes -> episodes);
+    }
+
+    private Mono<List<EpisodeSummary>> enqueue(String name, StageTimings timings) {
+        Batch batch;
+        Sinks.One<List<EpisodeSummary>> sink;
+        boolean opened = false;
+        boolean full;
+
+        synchronized (lock) {
+            if (pending == null) {
+                pending = new Batch();
+                opened = true;
+            }
+
+            batch = pending;
+            sink = batch.sinks.computeIfAbsent(name, key -> Sinks.one());
+            full = batch.sinks.size() >= properties.getMaxBatchSize();
+
+            if (timings.isRecording()) {
+                batch.timings.add(timings);
+            }
+        }
+
+        if (opened) {
+            Schedulers.parallel().schedule(() -> dispatch(batch), properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        if (full) {
+            dispatch(batch);
+        }
+
+        return sink.asMono();
+    }
+
+    // Whichever of the window and the size limit closes the batch first sends it; the other finds it gone
+    private void dispatch(Batch batch) {
+        synchronized (lock) {
+            if (pending != batch) {
+                return;
+            }
+
+            pending = null;
+        }
+
+        batchSizes.record(batch.sinks.size());
+        long start = System.nanoTime();
+
+        // Timings are recorded before the waiters resume, so the stage is in place when their responses are written
+        episodeRepository.findByNameIn(batch.sinks.keySet())
+                .collect(Collectors.groupingBy(EpisodeSummary::getName))
+                .subscribe(
+                        episodes -> {
+                            batch.recordTimings(System.nanoTime() - start);
+                            batch.sinks.forEach((name, sink) -> sink.tryEmitValue(episodes.getOrDefault(name, List.of())));
+                        },
+                        error -> {
+                            batch.recordTimings(System.nanoTime() - start);
+                            batch.sinks.values().forEach(sink -> sink.tryEmitError(error));
+                        });
+    }
+
+    private static class Batch {
+
+        private final Map<String, Sinks.One<List<EpisodeSummary>>> sinks = new LinkedHashMap<>();
+        private final Set<StageTimings> timings = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        void recordTimings(long nanos) {
+            timings.forEach(requestTimings -> requestTimings.record("episode-batch", nanos));
+        }
+    }
+}
@@ -1,21 +1,51 @@
 package br.com.study.reactive.service;
 
+import br.com.study.reactive.cache.AnimeResponseCache;
+import br.com.study.reactive.cache.SingleFlight;
+import br.com.study.reactive.config.BatchProperties;
+import br.com.study.reactive.config.PagingProperties;
 import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.domain.EpisodeSummary;
+import br.com.study.reactive.domain.VersionSummary;
+import br.com.study.reactive.dto.BatchItemResult;
 import br.com.study.reactive.dto.EpisodeResponse;
+import br.com.study.reactive.dto.PageResponse;
+import br.com.study.reactive.repository.AnimeRepository;
 import br.com.study.reactive.repository.EpisodeRepository;
+import br.com.study.reactive.scheduler.ServiceSchedulers;
 import lombok.AllArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @AllArgsConstructor
 @Service
 public class EpisodeService {
 
     private final EpisodeRepository episodeRepository;
+    private final AnimeResponseCache animeResponseCache;
+    private final PagingProperties pagingProperties;
+    private final BatchProperties batchProperties;
+    private final AnimeReadModel animeReadModel;
+    private final AnimeRepository animeRepository;
+    private final EpisodeBatchLoader episodeBatchLoader;
+    private final ServiceSchedulers schedulers;
+
+    // Concurrent identical reads share one query; writes release the keys they touch, see forget
+    private final SingleFlight<String, EpisodeSummary> byNameInFlight = new SingleFlight<>();
+    private final SingleFlight<String, EpisodeSummary> byTitleInFlight = new SingleFlight<>();
+    private final SingleFlight<String, VersionSummary> versionInFlight = new SingleFlight<>();
 
     public Flux<EpisodeResponse> findAll() {
-        return episodeRepository.findAll()
+        return episodeRepository.findSummariesBy()
                 .flatMap(episode -> Mono.just(EpisodeResponse.builder()
                         .id(episode.getId())
                         .title(episode.getTitle())
@@ -24,15 +54,42 @@ public class EpisodeService {
                 );
     }
 
-    public Flux<EpisodeResponse> findByName(String name) {
+    public Flux<EpisodeResponse> stream() {
+        return episodeRepository.findSummariesBy()
+                .map(episode -> EpisodeResponse.builder()
+                        .id(episode.getId())
+                        .title(episode.getTitle())
+                        .name(episode.getName())
+                        .build());
+    }
+
+    public Mono<PageResponse<EpisodeResponse>> findPage(int size, String after) {
+        return Mono.defer(() -> {
+            Limit limit = Limit.of(PageCursor.validateSize(size, pagingProperties.getMaximumSize()) + 1);
+
+            Flux<EpisodeSummary> episodes = after == null
+                    ? episodeRepository.findAllByOrderByIdAsc(limit)
+                    : episodeRepository.findByIdGreaterThanOrderByIdAsc(PageCursor.decode(after), limit);
+
+            return episodes.collectList().map(page -> {
+                List<EpisodeSummary> content = page.size() > size ? page.subList(0, size) : page;
 
-        try {
-            Thread.sleep(100);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+                return PageResponse.<EpisodeResponse>builder()
+                        .content(content.stream()
+                                .map(episode -> EpisodeResponse.builder()
+                                        .id(episode.getId())
+                                        .title(episode.getTitle())
+                                        .name(episode.getName())
+                                        .build())
+                                .toList())
+                        .next(page.size() > size ? PageCursor.encode(content.get(size - 1).getId()) : null)
+                        .build();
+            });
+        });
+    }
 
-        return episodeRepository.findByName(name)
+    public Flux<EpisodeResponse> findByName(String name) {
+        return byNameInFlight.flux(name, episodeBatchLoader::load)
                 .flatMap(episode -> Mono.just(EpisodeResponse.builder()
                         .id(episode.getId())
                         .title(episode.getTitle())
@@ -41,8 +98,23 @@ public class EpisodeService {
                 );
     }
 
+    public Mono<Map<String, List<EpisodeResponse>>> findByNames(Collection<String> names) {
+        return episodeRepository.findByNameIn(names)
+                .map(episode -> EpisodeResponse.builder()
+                        .id(episode.getId())
+                        .title(episode.getTitle())
+                        .name(episode.getName())
+                        .build())
+                .collect(Collectors.groupingBy(EpisodeResponse::getName));
+    }
+
+    public Mono<String> findETag(String title) {
+        return versionInFlight.mono(title, episodeRepository::findVersionByTitle)
+                .map(version -> ETags.of(version, ""));
+    }
+
     public Mono<EpisodeResponse> findByTitle(String title) {
-        return episodeRepository.findByTitle(title)
+        return byTitleInFlight.mono(title, episodeRepository::findSummaryByTitle)
                 .flatMap(episode -> Mono.just(EpisodeResponse.builder()
                         .id(episode.getId())
                         .title(episode.getTitle())
@@ -52,7 +124,14 @@ public class EpisodeService {
     }
 
     public Mono<EpisodeResponse> create(Episode episode) {
-        return episodeRepository.save(episode)
+        return episodeRepository.save(episode.withCreatedAt(Instant.now()))
+                .flatMap(savedEpisode -> touchAnime(savedEpisode.getName())
+                        .then(animeReadModel.refresh(savedEpisode.getName()))
+                        .thenReturn(savedEpisode))
+                .doOnNext(savedEpisode -> {
+                    forget(savedEpisode.getName(), savedEpisode.getTitle());
+                    animeResponseCache.invalidate(savedEpisode.getName());
+                })
                 .flatMap(savedEpisode -> Mono.just(EpisodeResponse.builder()
                         .id(episode.getId())
                         .title(savedEpisode.getTitle())
@@ -60,33 +139,112 @@ public class EpisodeService {
                         .build()));
     }
 
+    public Flux<BatchItemResult> createAll(Flux<Episode> episodes) {
+        // Ids are assigned up front so every item can be reported, including those inserted before a failure
+        return episodes.publishOn(schedulers.bulk())
+                .map(episode -> episode.getId() == null ? episode.withId(ObjectId.get().toHexString()) : episode)
+                .map(episode -> episode.withCreatedAt(Instant.now()))
+                .index()
+                .buffer(batchProperties.getSize())
+                .flatMapSequential(batch -> BatchInserts.insertOrdered(batch, episodeRepository::insert, Episode::getId,
+                                ids -> episodeRepository.findVersionsByIdIn(ids).map(VersionSummary::getId))
+                        .concatWith(Flux.fromIterable(batch)
+                                .doOnNext(item -> forget(item.getT2().getName(), item.getT2().getTitle()))
+                                .map(item -> item.getT2().getName())
+                                .distinct()
+                                .concatMap(name -> touchAnime(name)
+                                        .then(animeReadModel.refresh(name))
+                                        .doFinally(signal -> animeResponseCache.invalidate(name)))
+                                .thenMany(Flux.empty())),
+                        batchProperties.getMaxInFlight());
+    }
+
     public Mono<EpisodeResponse> update(String title, Episode episode) {
+        return update(title, episode, null);
+    }
+
+    public Mono<EpisodeResponse> update(String title, Episode episode, String ifMatch) {
+        return Mono.defer(() -> {
+            VersionSummary expected = ETags.parseIfMatch(ifMatch);
+
+            return episodeRepository.findAndModifyByTitle(title, episode, expected)
+                    .switchIfEmpty(expected == null ? Mono.empty() : ETags.preconditionFailed())
+                    .flatMap(previousEpisode -> {
+                        String updatedName = episode.getName() == null ? previousEpisode.getName() : episode.getName();
+                        String updatedTitle = episode.getTitle() == null ? previousEpisode.getTitle() : episode.getTitle();
 
-        Mono<Episode> existingEpisode = episodeRepository.findByTitle(title);
+                        forget(previousEpisode.getName(), previousEpisode.getTitle());
+                        forget(updatedName, updatedTitle);
+
+                        return animesChanged(previousEpisode.getName(), updatedName)
+                                .thenReturn(EpisodeResponse.builder()
+                                        .id(previousEpisode.getId())
+                                        .title(updatedTitle)
+                                        .name(updatedName)
+                                        .build());
+                    });
+        });
+    }
+
+    public Mono<EpisodeResponse> delete(String title) {
+        return delete(title, null);
+    }
 
-        return existingEpisode
-                .flatMap(currentEpisode -> {
-                    episode.withId(currentEpisode.getId());
+    public Mono<EpisodeResponse> delete(String title, String ifMatch) {
+        return Mono.defer(() -> {
+            VersionSummary expected = ETags.parseIfMatch(ifMatch);
 
-                    return episodeRepository.save(episode)
-                            .flatMap(savedEpisode -> Mono.just(EpisodeResponse.builder()
+            return episodeRepository.findAndRemoveByTitle(title, expected)
+                    .switchIfEmpty(expected == null ? Mono.empty() : ETags.preconditionFailed())
+                    .doOnNext(episode -> forget(episode.getName(), episode.getTitle()))
+                    .flatMap(episode -> animesChanged(episode.getName())
+                            .thenReturn(EpisodeResponse.builder()
                                     .id(episode.getId())
-                                    .title(savedEpisode.getTitle())
-                                    .name(savedEpisode.getName())
+                                    .title(episode.getTitle())
+                                    .name(episode.getName())
                                     .build()));
+        });
+    }
+
+    // The caller owns the anime, so refreshing it and its cached response is left to the caller as well
+    public Mono<Long> renameAll(String name, String newName) {
+        return episodeRepository.findAndRenameByName(name, newName)
+                .doOnNext(renamed -> {
+                    forget(name, null);
+                    byNameInFlight.forget(newName);
+                    byTitleInFlight.forgetAll();
+                    versionInFlight.forgetAll();
                 });
     }
 
-    public Mono<EpisodeResponse> delete(String title) {
-        return episodeRepository.findByTitle(title)
-                .flatMap(episode -> {
-                    episodeRepository.delete(episode);
-
-                    return Mono.just(EpisodeResponse.builder()
-                            .id(episode.getId())
-                            .title(episode.getTitle())
-                            .name(episode.getName())
-                            .build());
+    public Mono<Long> deleteByName(String name) {
+        return episodeRepository.deleteByName(name)
+                .doOnNext(deleted -> {
+                    // The titles are not known here, so every lookup by title starts over
+                    forget(name, null);
+                    byTitleInFlight.forgetAll();
+                    versionInFlight.forgetAll();
                 });
     }
+
+    // Reads arriving after a write must not join a load that started before it
+    private void forget(String name, String title) {
+        byNameInFlight.forget(name);
+        byTitleInFlight.forget(title);
+        versionInFlight.forget(title);
+    }
+
+    private Mono<Void> animesChanged(String... names) {
+        return Flux.just(names)
+                .distinct()
+                .concatMap(name -> touchAnime(name)
+                        .then(animeReadModel.refresh(name))
+                        .doFinally(signal -> animeResponseCache.invalidate(name)))
+                .then();
+    }
+
+    // Episodes are embedded in anime responses, so every episode write moves the anime's version and ETag as well
+    private Mono<Void> touchAnime(String name) {
+        return name == null ? Mono.empty() : animeRepository.findAndIncrementVersionByName(name).then();
+    }
 }
@@ -0,0 +1,33 @@
+package br.com.study.reactive.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+final class PageCursor {
+
+    private PageCursor() {
+    }
+
+    static String encode(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decode(String token) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page token", e);
+        }
+    }
+
+    static int validateSize(int size, int maximumSize) {
+        if (size < 1 || size > maximumSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be between 1 and " + maximumSize);
+        }
+
+        return size;
+    }
+}
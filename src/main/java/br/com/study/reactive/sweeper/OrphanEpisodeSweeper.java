@@ -0,0 +1,120 @@
+package br.com.study.reactive.sweeper;
+
+import br.com.study.reactive.domain.AnimeSummary;
+import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.repository.AnimeRepository;
+import br.com.study.reactive.scheduler.ServiceSchedulers;
+import com.mongodb.client.result.DeleteResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "reactive.orphan-sweeper", name = "enabled", havingValue = "true")
+public class OrphanEpisodeSweeper implements SmartLifecycle {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final AnimeRepository animeRepository;
+    private final OrphanSweeperProperties properties;
+    private final ServiceSchedulers schedulers;
+    private final Counter deleted;
+
+    private volatile Disposable schedule;
+
+    public OrphanEpisodeSweeper(ReactiveMongoTemplate mongoTemplate, AnimeRepository animeRepository,
+                                OrphanSweeperProperties properties,
+                                ServiceSchedulers schedulers, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.animeRepository = animeRepository;
+        this.properties = properties;
+        this.schedulers = schedulers;
+        this.deleted = Counter.builder("orphan.episodes.deleted")
+                .description("Episodes removed because their anime no longer exists")
+                .register(meterRegistry);
+    }
+
+    public Mono<Long> sweep() {
+        // Orphans are found per distinct name, so the scan reads the name index instead of every episode
+        return mongoTemplate.findDistinct(new Query(), "name", Episode.class, String.class)
+                .buffer(properties.getBatchSize())
+                .concatMap(names -> sweep(names).delaySubscription(properties.getPause()))
+                .reduce(0L, Long::sum)
+                .doOnNext(count -> {
+                    deleted.increment(count);
+
+                    if (count > 0) {
+                        log.info("Removed {} orphaned episodes", count);
+                    }
+                });
+    }
+
+    private Mono<Long> sweep(List<String> names) {
+        // The anime check and the delete are separate reads, so only episodes older than the grace period are removed
+        Instant cutoff = Instant.now().minus(properties.getGracePeriod());
+
+        return animeRepository.findByNameIn(names)
+                .map(AnimeSummary::getName)
+                .collect(Collectors.toSet())
+                .map(existing -> orphaned(names, existing))
+                .flatMap(orphans -> orphans.isEmpty() ? Mono.just(0L) : mongoTemplate.remove(
+                                Query.query(Criteria.where("name").in(orphans).andOperator(createdBefore(cutoff))), Episode.class)
+                        .map(DeleteResult::getDeletedCount));
+    }
+
+    // Episodes written before createdAt was stored: an ObjectId carries its creation time, any other id is taken as old
+    private static Criteria createdBefore(Instant cutoff) {
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").lt(cutoff),
+                Criteria.where("createdAt").is(null).orOperator(
+                        Criteria.where("_id").lt(new ObjectId(Date.from(cutoff))),
+                        Criteria.where("_id").type(JsonSchemaObject.Type.STRING)));
+    }
+
+    private static List<String> orphaned(List<String> names, Set<String> existing) {
+        return names.stream()
+                .filter(name -> !existing.contains(name))
+                .toList();
+    }
+
+    @Override
+    public void start() {
+        // A failed sweep is logged and retried on the next tick; ticks arriving while a sweep still runs are dropped
+        schedule = Flux.interval(properties.getInitialDelay(), properties.getInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> sweep()
+                        .subscribeOn(schedulers.bulk())
+                        .onErrorResume(error -> {
+                            log.warn("Could not sweep orphaned episodes", error);
+                            return Mono.empty();
+                        }), 0)
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        schedule.dispose();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return schedule != null && !schedule.isDisposed();
+    }
+}
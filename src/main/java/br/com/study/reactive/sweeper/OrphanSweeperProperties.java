@@ -0,0 +1,36 @@
+package br.com.study.reactive.sweeper;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("reactive.orphan-sweeper")
+public class OrphanSweeperProperties {
+
+    /**
+     * Whether episodes whose anime no longer exists are removed in the background.
+     */
+    private boolean enabled = false;
+
+    private Duration initialDelay = Duration.ofMinutes(1);
+
+    private Duration interval = Duration.ofHours(1);
+
+    /**
+     * Number of distinct episode names checked against the anime collection per round trip.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Pause before each batch, so a sweep over a large collection is spread out instead of competing with live traffic.
+     */
+    private Duration pause = Duration.ofMillis(200);
+
+    /**
+     * Minimum age of an orphaned episode before it is removed, so episodes imported ahead of their anime, or whose
+     * anime is created while a sweep runs, survive until the anime shows up.
+     */
+    private Duration gracePeriod = Duration.ofHours(1);
+}
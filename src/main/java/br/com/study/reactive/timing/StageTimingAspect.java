@@ -0,0 +1,57 @@
+package br.com.study.reactive.timing;
+
+import br.com.study.reactive.aop.ReactiveCallAspect;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records every service and repository call made on behalf of a timed request as a stage named after the call.
+ * Ordered between metrics and resilience, so a stage includes its retries.
+ */
+@Aspect
+@Component
+@Order(50)
+@ConditionalOnProperty(prefix = "reactive.stage-timing", name = "enabled", havingValue = "true")
+public class StageTimingAspect extends ReactiveCallAspect {
+
+    @Around("br.com.study.reactive.aop.Pointcuts.serviceCalls() || br.com.study.reactive.aop.Pointcuts.repositoryCalls()")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        return decorate(joinPoint);
+    }
+
+    @Override
+    protected <T> Mono<T> decorate(String type, String method, Mono<T> mono) {
+        return Mono.deferContextual(context -> {
+            StageTimings timings = StageTimings.from(context);
+
+            if (!timings.isRecording()) {
+                return mono;
+            }
+
+            long start = System.nanoTime();
+
+            return mono.doFinally(signal -> timings.record(type + "." + method, System.nanoTime() - start));
+        });
+    }
+
+    @Override
+    protected <T> Flux<T> decorate(String type, String method, Flux<T> flux) {
+        return Flux.deferContextual(context -> {
+            StageTimings timings = StageTimings.from(context);
+
+            if (!timings.isRecording()) {
+                return flux;
+            }
+
+            long start = System.nanoTime();
+
+            return flux.doFinally(signal -> timings.record(type + "." + method, System.nanoTime() - start));
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.study.reactive.timing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Starts a {@link StageTimings} for each request and puts it in the Reactor Context. Headers cannot change once the
+ * response is committed, so Server-Timing holds the stages finished by then, with total as the time to commit; for a
+ * streamed listing that is the first chunk. The sampled log has the whole request, with the time after the commit,
+ * spent encoding and writing the body, as the response stage.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "reactive.stage-timing", name = "enabled", havingValue = "true")
+public class StageTimingFilter implements WebFilter, Ordered {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final StageTimingProperties properties;
+
+    // Runs just inside the concurrency limit, so rejected requests are not timed
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        StageTimings timings = new StageTimings();
+        ServerHttpResponse response = exchange.getResponse();
+        long start = System.nanoTime();
+        AtomicLong committed = new AtomicLong();
+
+        response.beforeCommit(() -> {
+            long elapsed = System.nanoTime() - start;
+            committed.set(elapsed);
+
+            if (properties.isServerTiming()) {
+                response.getHeaders().add(SERVER_TIMING, timings.serverTiming(elapsed));
+            }
+
+            return Mono.empty();
+        });
+
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(StageTimings.class, timings))
+                .doFinally(signal -> log(exchange, timings, System.nanoTime() - start, committed.get()));
+    }
+
+    private void log(ServerWebExchange exchange, StageTimings timings, long totalNanos, long committedNanos) {
+        if (totalNanos < properties.getSlowThreshold().toNanos()
+                && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return;
+        }
+
+        if (committedNanos > 0) {
+            timings.record("response", totalNanos - committedNanos);
+        }
+
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        Map<String, String> stages = timings.snapshot().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        entry -> StageTimings.millis(entry.getValue().getNanos()) + "ms/" + entry.getValue().getCount(),
+                        (first, second) -> first, LinkedHashMap::new));
+
+        log.atInfo()
+                .addKeyValue("method", exchange.getRequest().getMethod().name())
+                .addKeyValue("path", exchange.getRequest().getPath().value())
+                .addKeyValue("status", status != null ? status.value() : 0)
+                .addKeyValue("totalMs", StageTimings.millis(totalNanos))
+                .addKeyValue("stages", stages)
+                .log("{} {} took {} ms: {}", exchange.getRequest().getMethod().name(), exchange.getRequest().getPath().value(),
+                        StageTimings.millis(totalNanos), stages);
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.study.reactive.timing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("reactive.stage-timing")
+public class StageTimingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Whether the stages finished before the response is committed are sent in a Server-Timing header.
+     */
+    private boolean serverTiming = true;
+
+    /**
+     * Fraction of requests whose stage breakdown is logged.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Requests slower than this are always logged, regardless of the sample rate.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+}
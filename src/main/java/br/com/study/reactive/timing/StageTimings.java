@@ -0,0 +1,91 @@
+package br.com.study.reactive.timing;
+
+import lombok.Value;
+import reactor.util.context.ContextView;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Time spent per stage of a single request, carried in the Reactor Context by {@link StageTimingFilter}. Repeated
+ * stages, such as one episode lookup per anime, are summed, so concurrent calls can add up to more than the request.
+ */
+public class StageTimings {
+
+    /**
+     * Used when the request is not being timed: it records nothing, so callers never need to check.
+     */
+    public static final StageTimings NONE = new StageTimings();
+
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+
+    public static StageTimings from(ContextView context) {
+        return context.getOrDefault(StageTimings.class, NONE);
+    }
+
+    public boolean isRecording() {
+        return this != NONE;
+    }
+
+    public <T> T measure(String stage, Supplier<T> work) {
+        if (!isRecording()) {
+            return work.get();
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            return work.get();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void record(String stage, long nanos) {
+        if (!isRecording()) {
+            return;
+        }
+
+        synchronized (stages) {
+            stages.merge(stage, new Stage(1, nanos), Stage::plus);
+        }
+    }
+
+    public Map<String, Stage> snapshot() {
+        synchronized (stages) {
+            return new LinkedHashMap<>(stages);
+        }
+    }
+
+    /**
+     * Formats the stages as a Server-Timing header value, followed by a total stage for the given duration.
+     */
+    public String serverTiming(long totalNanos) {
+        String total = "total;dur=" + millis(totalNanos);
+
+        return snapshot().entrySet().stream()
+                .map(entry -> entry.getKey() + ";dur=" + millis(entry.getValue().getNanos())
+                        + ";desc=\"" + entry.getValue().getCount() + (entry.getValue().getCount() == 1 ? " call\"" : " calls\""))
+                .collect(Collectors.collectingAndThen(Collectors.joining(", "),
+                        stages -> stages.isEmpty() ? total : stages + ", " + total));
+    }
+
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    @Value
+    public static class Stage {
+
+        long count;
+
+        long nanos;
+
+        Stage plus(Stage other) {
+            return new Stage(count + other.count, nanos + other.nanos);
+        }
+    }
+}
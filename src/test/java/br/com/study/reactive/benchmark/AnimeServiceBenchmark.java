@@ -0,0 +1,62 @@
+package br.com.study.reactive.benchmark;
+
+import br.com.study.reactive.config.JoinProperties;
+import br.com.study.reactive.dto.AnimeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnimeServiceBenchmark {
+
+    @Param({"100", "1000"})
+    private int animes;
+
+    @Param({"1", "24"})
+    private int episodesPerAnime;
+
+    @Param({"BATCHED", "PER_ANIME"})
+    private JoinProperties.Mode joinMode;
+
+    private BenchmarkServices services;
+
+    @Setup
+    public void setup() {
+        services = new BenchmarkServices(animes, episodesPerAnime, joinMode);
+    }
+
+    @TearDown
+    public void tearDown() {
+        services.close();
+    }
+
+    @Benchmark
+    public List<AnimeResponse> findAll() {
+        return services.animeService.findAll().collectList().block();
+    }
+
+    @Benchmark
+    public AnimeResponse findByName() {
+        String name = services.animeNames[ThreadLocalRandom.current().nextInt(services.animeNames.length)];
+
+        return services.animeService.findByName(name).block();
+    }
+}
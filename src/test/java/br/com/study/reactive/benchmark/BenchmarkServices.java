@@ -0,0 +1,89 @@
+package br.com.study.reactive.benchmark;
+
+import br.com.study.reactive.cache.AnimeCacheProperties;
+import br.com.study.reactive.cache.AnimeResponseCache;
+import br.com.study.reactive.config.BatchProperties;
+import br.com.study.reactive.config.EpisodeLoaderProperties;
+import br.com.study.reactive.config.JoinProperties;
+import br.com.study.reactive.config.PagingProperties;
+import br.com.study.reactive.config.ReadModelProperties;
+import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.repository.AnimeRepository;
+import br.com.study.reactive.repository.EpisodeRepository;
+import br.com.study.reactive.repository.Repositories;
+import br.com.study.reactive.scheduler.SchedulerProperties;
+import br.com.study.reactive.scheduler.ServiceSchedulers;
+import br.com.study.reactive.service.AnimeReadModel;
+import br.com.study.reactive.service.AnimeService;
+import br.com.study.reactive.service.EpisodeBatchLoader;
+import br.com.study.reactive.service.EpisodeService;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Wires the services the way Spring does, over real repositories backed by an in-process mongo-java-server and with
+ * the response cache disabled, so benchmarks measure the reactive pipelines and the driver rather than cache hits.
+ */
+class BenchmarkServices implements AutoCloseable {
+
+    final String[] animeNames;
+    final AnimeService animeService;
+    final EpisodeService episodeService;
+
+    private final MongoServer mongoServer = new MongoServer(new MemoryBackend());
+    private final MongoClient mongoClient = MongoClients.create(mongoServer.bindAndGetConnectionString());
+
+    BenchmarkServices(int animes, int episodesPerAnime, JoinProperties.Mode joinMode) {
+        ReactiveMongoTemplate mongoTemplate = new ReactiveMongoTemplate(mongoClient, "anime");
+        AnimeRepository animeRepository = Repositories.anime(mongoTemplate);
+        EpisodeRepository episodeRepository = Repositories.episode(mongoTemplate);
+
+        animeNames = IntStream.range(0, animes).mapToObj(i -> "Anime " + i).toArray(String[]::new);
+
+        animeRepository.insert(IntStream.range(0, animes)
+                .mapToObj(i -> Anime.builder().id(String.format("%024x", i)).name(animeNames[i]).build())
+                .toList()).blockLast();
+        episodeRepository.insert(IntStream.range(0, animes)
+                .boxed()
+                .flatMap(i -> IntStream.range(0, episodesPerAnime).mapToObj(j -> Episode.builder()
+                        .id(String.format("%012x%012x", i, j))
+                        .name(animeNames[i])
+                        .title(animeNames[i] + " - Episode " + j)
+                        .build()))
+                .toList()).blockLast();
+
+        AnimeCacheProperties cacheProperties = new AnimeCacheProperties();
+        cacheProperties.setEnabled(false);
+        JoinProperties joinProperties = new JoinProperties();
+        joinProperties.setMode(joinMode);
+
+        AnimeResponseCache animeResponseCache = new AnimeResponseCache(cacheProperties, new SimpleMeterRegistry());
+        PagingProperties pagingProperties = new PagingProperties();
+        BatchProperties batchProperties = new BatchProperties();
+        // Benchmarks call the services one at a time, so a batching window would only add latency
+        EpisodeLoaderProperties loaderProperties = new EpisodeLoaderProperties();
+        loaderProperties.setEnabled(false);
+        AnimeReadModel animeReadModel = new AnimeReadModel(animeRepository, episodeRepository, null, new ReadModelProperties());
+        ServiceSchedulers schedulers = new ServiceSchedulers(new SchedulerProperties(), new SimpleMeterRegistry());
+
+        episodeService = new EpisodeService(episodeRepository, animeResponseCache, pagingProperties, batchProperties, animeReadModel,
+                animeRepository, new EpisodeBatchLoader(episodeRepository, loaderProperties, new SimpleMeterRegistry()),
+                schedulers);
+        animeService = new AnimeService(animeRepository, episodeService, joinProperties, animeResponseCache, pagingProperties,
+                batchProperties, animeReadModel, Optional.empty(), schedulers);
+    }
+
+    @Override
+    public void close() {
+        mongoClient.close();
+        mongoServer.shutdownNow();
+    }
+}
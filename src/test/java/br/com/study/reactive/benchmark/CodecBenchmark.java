@@ -0,0 +1,114 @@
+package br.com.study.reactive.benchmark;
+
+import br.com.study.reactive.dto.AnimeResponse;
+import br.com.study.reactive.dto.EpisodeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Encode/decode cost of typical responses through the WebFlux codecs. The encoded size of each payload is printed
+ * during setup so it lands in the JMH log next to the scores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    private static final DefaultDataBufferFactory BUFFER_FACTORY = DefaultDataBufferFactory.sharedInstance;
+
+    public enum Format {
+        JSON(new Jackson2JsonEncoder(), new Jackson2JsonDecoder(), MediaType.APPLICATION_JSON),
+        SMILE(new Jackson2SmileEncoder(), new Jackson2SmileDecoder(), MediaType.parseMediaType("application/x-jackson-smile"));
+
+        private final Encoder<Object> encoder;
+        private final Decoder<Object> decoder;
+        private final MediaType mediaType;
+
+        Format(Encoder<Object> encoder, Decoder<Object> decoder, MediaType mediaType) {
+            this.encoder = encoder;
+            this.decoder = decoder;
+            this.mediaType = mediaType;
+        }
+    }
+
+    @Param({"JSON", "SMILE"})
+    private Format format;
+
+    // A single anime as served by GET /animes/{name}, and a list as served by GET /animes
+    @Param({"1", "100"})
+    private int animes;
+
+    @Param({"24"})
+    private int episodesPerAnime;
+
+    private Object payload;
+    private ResolvableType payloadType;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        List<AnimeResponse> responses = IntStream.range(0, animes)
+                .mapToObj(i -> AnimeResponse.builder()
+                        .id(String.format("%024x", i))
+                        .name("Anime " + i)
+                        .episodes(IntStream.range(0, episodesPerAnime)
+                                .mapToObj(j -> EpisodeResponse.builder()
+                                        .id(String.format("%012x%012x", i, j))
+                                        .name("Anime " + i)
+                                        .title("Anime " + i + " - Episode " + j)
+                                        .build())
+                                .toList())
+                        .build())
+                .toList();
+
+        payload = animes == 1 ? responses.get(0) : responses;
+        payloadType = animes == 1
+                ? ResolvableType.forClass(AnimeResponse.class)
+                : ResolvableType.forClassWithGenerics(List.class, AnimeResponse.class);
+        encoded = encode();
+
+        System.out.printf("%n%s payload for %d anime(s): %d bytes%n", format, animes, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        DataBuffer buffer = format.encoder.encodeValue(payload, BUFFER_FACTORY, payloadType, format.mediaType, Map.of());
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decode() {
+        return format.decoder.decode(BUFFER_FACTORY.wrap(encoded), payloadType, format.mediaType, Map.of());
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.study.reactive.benchmark;
+
+import br.com.study.reactive.config.JoinProperties;
+import br.com.study.reactive.dto.EpisodeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EpisodeServiceBenchmark {
+
+    @Param({"100", "1000"})
+    private int animes;
+
+    @Param({"24"})
+    private int episodesPerAnime;
+
+    private BenchmarkServices services;
+    private List<String> firstHundredNames;
+
+    @Setup
+    public void setup() {
+        services = new BenchmarkServices(animes, episodesPerAnime, JoinProperties.Mode.BATCHED);
+        firstHundredNames = Arrays.asList(services.animeNames).subList(0, Math.min(100, animes));
+    }
+
+    @TearDown
+    public void tearDown() {
+        services.close();
+    }
+
+    @Benchmark
+    public List<EpisodeResponse> findAll() {
+        return services.episodeService.findAll().collectList().block();
+    }
+
+    @Benchmark
+    public List<EpisodeResponse> findByName() {
+        String name = services.animeNames[ThreadLocalRandom.current().nextInt(services.animeNames.length)];
+
+        return services.episodeService.findByName(name).collectList().block();
+    }
+
+    @Benchmark
+    public Map<String, List<EpisodeResponse>> findByNames() {
+        return services.episodeService.findByNames(firstHundredNames).block();
+    }
+}
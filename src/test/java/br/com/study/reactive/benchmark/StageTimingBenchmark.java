@@ -0,0 +1,77 @@
+package br.com.study.reactive.benchmark;
+
+import br.com.study.reactive.config.JoinProperties;
+import br.com.study.reactive.dto.AnimeResponse;
+import br.com.study.reactive.service.AnimeService;
+import br.com.study.reactive.timing.StageTimingAspect;
+import br.com.study.reactive.timing.StageTimings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares listing in three setups: stage timing disabled, which leaves the services unproxied; the aspect registered
+ * but the request not sampled, so the context holds no timings; and a timed request recording every service call and
+ * the join. The middle one is what every unsampled request pays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StageTimingBenchmark {
+
+    @Param({"100", "1000"})
+    private int animes;
+
+    @Param({"disabled", "unsampled", "timed"})
+    private String timing;
+
+    private BenchmarkServices services;
+    private AnimeService animeService;
+
+    @Setup
+    public void setup() {
+        services = new BenchmarkServices(animes, 24, JoinProperties.Mode.BATCHED);
+
+        if (!timing.equals("disabled")) {
+            AspectJProxyFactory factory = new AspectJProxyFactory(services.animeService);
+            factory.setProxyTargetClass(true);
+            factory.addAspect(new StageTimingAspect());
+            animeService = factory.getProxy();
+        } else {
+            animeService = services.animeService;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        services.close();
+    }
+
+    @Benchmark
+    public List<AnimeResponse> findAll() {
+        if (!timing.equals("timed")) {
+            return animeService.findAll().collectList().block();
+        }
+
+        return animeService.findAll()
+                .collectList()
+                .contextWrite(context -> context.put(StageTimings.class, new StageTimings()))
+                .block();
+    }
+}
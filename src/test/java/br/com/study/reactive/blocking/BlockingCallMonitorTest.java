@@ -0,0 +1,82 @@
+package br.com.study.reactive.blocking;
+
+import br.com.study.reactive.dto.BlockingCallReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.blockhound.BlockingMethod;
+
+import java.lang.reflect.Modifier;
+
+@ExtendWith(SpringExtension.class)
+class BlockingCallMonitorTest {
+
+    private static final BlockingMethod SLEEP = new BlockingMethod("java.lang.Thread", "sleep", Modifier.STATIC);
+    private static final BlockingMethod READ = new BlockingMethod("java.io.FileInputStream", "readBytes", 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BlockingDetectionProperties properties;
+    private BlockingCallMonitor monitor;
+
+    @BeforeEach
+    void setup() {
+        properties = new BlockingDetectionProperties();
+        properties.setSampleRate(0);
+        monitor = new BlockingCallMonitor(properties, meterRegistry);
+    }
+
+    @Test
+    void recordCountsCallsPerMethodAndThreadPool() {
+        // Actions
+        monitor.record(SLEEP);
+        monitor.record(SLEEP);
+        monitor.record(READ);
+
+        // Assertions
+        BlockingCallReport report = monitor.report();
+        Assertions.assertEquals(3, report.getTotal());
+        Assertions.assertEquals(2, report.getByMethod().get("java.lang.Thread.sleep"));
+        Assertions.assertEquals(1, report.getByMethod().get("java.io.FileInputStream.readBytes"));
+        Assertions.assertEquals(2, meterRegistry.get("blocking.calls")
+                .tag("method", "java.lang.Thread.sleep")
+                .tag("thread", Thread.currentThread().getName().replaceFirst("-\\d+$", ""))
+                .counter().count());
+    }
+
+    @Test
+    void recordSamplesTheFirstCallOfEachMethodWithItsStackTrace() {
+        // Actions
+        monitor.record(SLEEP);
+        monitor.record(SLEEP);
+
+        // Assertions
+        BlockingCallReport report = monitor.report();
+        Assertions.assertEquals(1, report.getSamples().size());
+
+        BlockingCallReport.Sample sample = report.getSamples().get(0);
+        Assertions.assertEquals("java.lang.Thread.sleep", sample.getMethod());
+        Assertions.assertEquals(Thread.currentThread().getName(), sample.getThread());
+        Assertions.assertTrue(sample.getStackTrace().get(0).contains(BlockingCallMonitorTest.class.getName()));
+    }
+
+    @Test
+    void recordKeepsOnlyTheMostRecentSamples() {
+        // Assemble
+        properties.setSampleRate(1);
+        properties.setMaxSamples(2);
+
+        // Actions
+        monitor.record(SLEEP);
+        monitor.record(SLEEP);
+        monitor.record(READ);
+
+        // Assertions
+        BlockingCallReport report = monitor.report();
+        Assertions.assertEquals(2, report.getSamples().size());
+        Assertions.assertEquals("java.io.FileInputStream.readBytes", report.getSamples().get(0).getMethod());
+    }
+}
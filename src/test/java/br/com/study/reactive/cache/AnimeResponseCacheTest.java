@@ -0,0 +1,40 @@
+package br.com.study.reactive.cache;
+
+import br.com.study.reactive.dto.AnimeResponse;
+import br.com.study.reactive.timing.StageTimings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+class AnimeResponseCacheTest {
+
+    private final AnimeResponseCache animeResponseCache = new AnimeResponseCache(new AnimeCacheProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void missLoadsInTheRequestContextAndHitRecordsACacheStage() {
+        // Assemble
+        StageTimings miss = new StageTimings();
+        StageTimings hit = new StageTimings();
+
+        // Actions
+        animeResponseCache.get("Naruto", this::load).contextWrite(Context.of(StageTimings.class, miss)).block();
+        AnimeResponse cached = animeResponseCache.get("Naruto", this::load).contextWrite(Context.of(StageTimings.class, hit)).block();
+
+        // Assertions
+        Assertions.assertEquals("Naruto", cached.getName());
+        Assertions.assertEquals(1, miss.snapshot().get("AnimeRepository.findSummaryByName").getCount());
+        Assertions.assertNull(miss.snapshot().get("cache"));
+        Assertions.assertNull(hit.snapshot().get("AnimeRepository.findSummaryByName"));
+        Assertions.assertEquals(1, hit.snapshot().get("cache").getCount());
+    }
+
+    // Stands in for a repository call timed by the stage timing aspect, which reads the timings from the Context
+    private Mono<AnimeResponse> load(String name) {
+        return Mono.deferContextual(context -> {
+            StageTimings.from(context).record("AnimeRepository.findSummaryByName", 1_000);
+            return Mono.just(AnimeResponse.builder().name(name).build());
+        });
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.study.reactive.cache;
+
+import br.com.study.reactive.timing.StageTimings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentSubscribersShareOneLoad() {
+        // Assemble
+        Sinks.One<String> result = Sinks.one();
+
+        // Actions
+        Mono<List<String>> wave = Flux.range(0, 100)
+                .flatMap(i -> singleFlight.mono("Naruto", name -> load(result.asMono())))
+                .collectList();
+
+        // Assertions
+        StepVerifier.create(wave)
+                .then(() -> result.tryEmitValue("Naruto"))
+                .assertNext(names -> Assertions.assertEquals(100, names.size()))
+                .verifyComplete();
+
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void subscriberJoiningAnotherRequestsLoadRecordsACoalescedStage() {
+        // Assemble
+        Sinks.One<String> result = Sinks.one();
+        StageTimings first = new StageTimings();
+        StageTimings joined = new StageTimings();
+
+        // Actions
+        Mono<List<String>> wave = Flux.merge(
+                        singleFlight.mono("Naruto", name -> load(result.asMono())).contextWrite(Context.of(StageTimings.class, first)),
+                        singleFlight.mono("Naruto", name -> load(result.asMono())).contextWrite(Context.of(StageTimings.class, joined)))
+                .collectList();
+
+        // Assertions
+        StepVerifier.create(wave)
+                .then(() -> result.tryEmitValue("Naruto"))
+                .assertNext(names -> Assertions.assertEquals(2, names.size()))
+                .verifyComplete();
+
+        Assertions.assertNull(first.snapshot().get("coalesced"));
+        Assertions.assertEquals(1, joined.snapshot().get("coalesced").getCount());
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void nextWaveStartsAFreshLoad() {
+        // Actions
+        String first = singleFlight.mono("Naruto", name -> load(Mono.just("first"))).block();
+        String second = singleFlight.mono("Naruto", name -> load(Mono.just("second"))).block();
+
+        // Assertions
+        Assertions.assertEquals("first", first);
+        Assertions.assertEquals("second", second);
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    void subscriberJoiningMidLoadSeesEveryElement() {
+        // Assemble
+        Sinks.Many<String> episodes = Sinks.many().unicast().onBackpressureBuffer();
+        Flux<String> first = singleFlight.flux("Naruto", name -> loadMany(episodes.asFlux()));
+
+        // Actions
+        StepVerifier.create(first)
+                .then(() -> episodes.tryEmitNext("1"))
+                .expectNext("1")
+                .then(() -> StepVerifier.create(singleFlight.flux("Naruto", name -> loadMany(Flux.just("other"))))
+                        .then(() -> {
+                            episodes.tryEmitNext("2");
+                            episodes.tryEmitComplete();
+                        })
+                        .expectNext("1", "2")
+                        .verifyComplete())
+                .expectNext("2")
+                .verifyComplete();
+
+        // Assertions
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void forgetLetsLaterSubscribersStartOver() {
+        // Assemble
+        Sinks.One<String> beforeWrite = Sinks.one();
+        Mono<String> early = singleFlight.mono("Naruto", name -> load(beforeWrite.asMono()));
+
+        // Actions
+        StepVerifier.create(early)
+                .then(() -> {
+                    singleFlight.forget("Naruto");
+                    StepVerifier.create(singleFlight.mono("Naruto", name -> load(Mono.just("after write"))))
+                            .expectNext("after write")
+                            .verifyComplete();
+                    beforeWrite.tryEmitValue("before write");
+                })
+                .expectNext("before write")
+                .verifyComplete();
+
+        // Assertions
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    private Mono<String> load(Mono<String> result) {
+        return Mono.defer(() -> {
+            loads.incrementAndGet();
+            return result;
+        });
+    }
+
+    private Flux<String> loadMany(Flux<String> result) {
+        return Flux.defer(() -> {
+            loads.incrementAndGet();
+            return result;
+        });
+    }
+}
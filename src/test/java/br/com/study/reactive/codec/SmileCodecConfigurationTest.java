@@ -0,0 +1,130 @@
+package br.com.study.reactive.codec;
+
+import br.com.study.reactive.controller.AnimeController;
+import br.com.study.reactive.dto.AnimeResponse;
+import br.com.study.reactive.dto.BatchItemResult;
+import br.com.study.reactive.dto.EpisodeResponse;
+import br.com.study.reactive.service.AnimeService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
+
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+class SmileCodecConfigurationTest {
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(SmileMediaTypes.APPLICATION_SMILE_VALUE);
+    private static final MediaType APPLICATION_STREAM_SMILE = MediaType.parseMediaType(SmileMediaTypes.APPLICATION_STREAM_SMILE_VALUE);
+
+    private final AnimeResponse naruto = AnimeResponse.builder()
+            .id("1")
+            .name("Naruto")
+            .episodes(List.of(EpisodeResponse.builder().id("1").name("Naruto").title("Enter: Naruto Uzumaki!").build()))
+            .build();
+    private final AnimeResponse monster = AnimeResponse.builder().id("2").name("Monster").episodes(List.of()).build();
+
+    @Mock
+    private AnimeService animeService;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setup() {
+        CodecCustomizer smileCodecCustomizer = new SmileCodecConfiguration().smileCodecCustomizer(Jackson2ObjectMapperBuilder.json());
+
+        webTestClient = WebTestClient.bindToController(new AnimeController(animeService))
+                .httpMessageCodecs(smileCodecCustomizer::customize)
+                .configureClient()
+                .codecs(smileCodecCustomizer::customize)
+                .build();
+
+        Mockito.when(animeService.findAll(Mockito.any())).thenReturn(Flux.just(naruto, monster));
+        Mockito.when(animeService.stream(Mockito.any())).thenReturn(Flux.just(naruto, monster));
+        Mockito.when(animeService.findETag(Mockito.any(), Mockito.any())).thenReturn(Mono.just("1-0"));
+        Mockito.when(animeService.findTaggedByName(Mockito.any(), Mockito.any())).thenReturn(Mono.just(Tuples.of("1-0", naruto)));
+    }
+
+    @Test
+    void jsonRemainsTheDefault() {
+        // Assertions
+        webTestClient.get().uri("/animes/Naruto")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void singleResponseIsEncodedAsSmile() {
+        // Actions
+        AnimeResponse response = webTestClient.get().uri("/animes/Naruto")
+                .accept(APPLICATION_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_SMILE)
+                .expectBody(AnimeResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assertions
+        Assertions.assertEquals(naruto, response);
+    }
+
+    @Test
+    void listAndStreamResponsesAreEncodedAsSmile() {
+        // Actions
+        List<AnimeResponse> list = webTestClient.get().uri("/animes")
+                .accept(APPLICATION_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(AnimeResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        List<AnimeResponse> stream = webTestClient.get().uri("/animes")
+                .accept(APPLICATION_STREAM_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_STREAM_SMILE)
+                .returnResult(AnimeResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // Assertions
+        Assertions.assertEquals(List.of(naruto, monster), list);
+        Assertions.assertEquals(List.of(naruto, monster), stream);
+    }
+
+    @Test
+    void batchRequestAcceptsSmileStream() {
+        // Assemble
+        Mockito.when(animeService.createAll(Mockito.any())).thenAnswer(invocation -> invocation.<Flux<?>>getArgument(0)
+                .index()
+                .map(item -> BatchItemResult.created(item.getT1(), String.valueOf(item.getT1()))));
+
+        // Actions
+        List<BatchItemResult> results = webTestClient.post().uri("/animes/batch")
+                .contentType(APPLICATION_STREAM_SMILE)
+                .body(Flux.just(naruto, monster), AnimeResponse.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BatchItemResult.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assertions
+        Assertions.assertEquals(2, results.size());
+    }
+}
@@ -12,12 +12,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import reactor.blockhound.BlockHound;
 import reactor.blockhound.BlockingOperationError;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuples;
 import reactor.test.StepVerifier;
 
 import java.util.concurrent.FutureTask;
@@ -42,11 +47,14 @@ class AnimeControllerTest {
         Anime animeToBeSaved = AnimeCreator.createAnimeToBeSaved();
         Anime animeToBeFound = AnimeCreator.createAnimeToBeFound();
 
-        Mockito.when(animeService.findAll()).thenReturn(Flux.just(AnimeResponse.builder().name(animeToBeSaved.getName()).build()));
-        Mockito.when(animeService.findByName(Mockito.any())).thenReturn(Mono.just(AnimeResponse.builder().name(animeToBeFound.getName()).build()));
+        Mockito.when(animeService.findAll(Mockito.any())).thenReturn(Flux.just(AnimeResponse.builder().name(animeToBeSaved.getName()).build()));
+        Mockito.when(animeService.stream(Mockito.any())).thenReturn(Flux.just(AnimeResponse.builder().name(animeToBeSaved.getName()).build()));
+        Mockito.when(animeService.findETag(Mockito.any(), Mockito.any())).thenReturn(Mono.just("e8f945f7-7faa-4504-aeb8-52122b113d9c-3"));
+        Mockito.when(animeService.findTaggedByName(Mockito.any(), Mockito.any()))
+                .thenReturn(Mono.just(Tuples.of("e8f945f7-7faa-4504-aeb8-52122b113d9c-3", AnimeResponse.builder().name(animeToBeFound.getName()).build())));
         Mockito.when(animeService.create(Mockito.any())).thenReturn(Mono.empty());
-        Mockito.when(animeService.update(Mockito.any(), Mockito.any())).thenReturn(Mono.just(AnimeResponse.builder().name(animeToBeSaved.getName()).build()));
-        Mockito.when(animeService.delete(Mockito.any())).thenReturn(Mono.empty());
+        Mockito.when(animeService.update(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.just(AnimeResponse.builder().name(animeToBeSaved.getName()).build()));
+        Mockito.when(animeService.delete(Mockito.any(), Mockito.any())).thenReturn(Mono.empty());
     }
 
     @Test
@@ -71,7 +79,22 @@ class AnimeControllerTest {
         Anime animeToBeSaved = AnimeCreator.createAnimeToBeSaved();
 
         // Actions
-        Flux<AnimeResponse> flux = animeController.findAll();
+        Flux<AnimeResponse> flux = animeController.findAll(null, null);
+
+        // Assertions
+        StepVerifier.create(flux)
+                .expectSubscription()
+                .expectNext(AnimeResponse.builder().name(animeToBeSaved.getName()).build())
+                .verifyComplete();
+    }
+
+    @Test
+    void streamReturnFluxOfAnimeWhenSuccessful() {
+        // Assemble
+        Anime animeToBeSaved = AnimeCreator.createAnimeToBeSaved();
+
+        // Actions
+        Flux<AnimeResponse> flux = animeController.stream(null, null);
 
         // Assertions
         StepVerifier.create(flux)
@@ -86,7 +109,8 @@ class AnimeControllerTest {
         Anime animeToBeFound = AnimeCreator.createAnimeToBeFound();
 
         // Actions
-        Mono<AnimeResponse> mono = animeController.findByName("Fullmetal Alchemist");
+        Mono<AnimeResponse> mono = animeController.findByName("Fullmetal Alchemist", null, null, exchange(null))
+                .map(ResponseEntity::getBody);
 
         // Assertions
         StepVerifier.create(mono)
@@ -95,6 +119,33 @@ class AnimeControllerTest {
                 .verifyComplete();
     }
 
+    @Test
+    void findByNameAnswersNotModifiedWithoutLoadingTheAnime() {
+        // Actions
+        ResponseEntity<AnimeResponse> response = animeController.findByName("Fullmetal Alchemist", null, null,
+                exchange("\"e8f945f7-7faa-4504-aeb8-52122b113d9c-3\"")).block();
+
+        // Assertions
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        Assertions.assertEquals("\"e8f945f7-7faa-4504-aeb8-52122b113d9c-3\"", response.getHeaders().getETag());
+        Assertions.assertNull(response.getBody());
+        Mockito.verify(animeService, Mockito.never()).findTaggedByName(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void findByNameTagsTheBodyWithTheVersionItWasBuiltFrom() {
+        // Assemble
+        Mockito.when(animeService.findETag(Mockito.any(), Mockito.any())).thenReturn(Mono.just("e8f945f7-7faa-4504-aeb8-52122b113d9c-4"));
+
+        // Actions
+        ResponseEntity<AnimeResponse> response = animeController.findByName("Fullmetal Alchemist", null, null,
+                exchange("\"e8f945f7-7faa-4504-aeb8-52122b113d9c-3\"")).block();
+
+        // Assertions
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("\"e8f945f7-7faa-4504-aeb8-52122b113d9c-3\"", response.getHeaders().getETag());
+    }
+
     @Test
     void createReturnMonoOfVoidWhenSuccessful() {
         // Assemble
@@ -116,7 +167,7 @@ class AnimeControllerTest {
         Anime anime = Anime.builder().name("Fullmetal Alchemist: Brotherhood").build();
 
         // Actions
-        Mono<AnimeResponse> mono = animeController.update("Fullmetal Alchemist", anime);
+        Mono<AnimeResponse> mono = animeController.update("Fullmetal Alchemist", anime, null);
 
         // Assertions
         StepVerifier.create(mono)
@@ -128,11 +179,21 @@ class AnimeControllerTest {
     @Test
     void deleteReturnMonoOfVoidWhenSuccessful() {
         // Actions
-        Mono<AnimeResponse> mono = animeController.delete("Fullmetal Alchemist");
+        Mono<AnimeResponse> mono = animeController.delete("Fullmetal Alchemist", null);
 
         // Assertions
         StepVerifier.create(mono)
                 .expectSubscription()
                 .verifyComplete();
     }
+
+    private static MockServerWebExchange exchange(String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/animes/Fullmetal Alchemist");
+
+        if (ifNoneMatch != null) {
+            request.ifNoneMatch(ifNoneMatch);
+        }
+
+        return MockServerWebExchange.from(request);
+    }
 }
@@ -0,0 +1,85 @@
+package br.com.study.reactive.controller;
+
+import br.com.study.reactive.dto.EpisodeResponse;
+import br.com.study.reactive.service.EpisodeService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(SpringExtension.class)
+class EpisodeControllerTest {
+
+    private static final String ETAG = "\"64b7f0c2a1e4d3b2c1f0e9d8-2\"";
+
+    @InjectMocks
+    private EpisodeController episodeController;
+
+    @Mock
+    private EpisodeService episodeService;
+
+    private final EpisodeResponse episode = EpisodeResponse.builder()
+            .id("64b7f0c2a1e4d3b2c1f0e9d8")
+            .name("Naruto")
+            .title("Enter: Naruto Uzumaki!")
+            .build();
+
+    @BeforeEach
+    void setup() {
+        Mockito.when(episodeService.findETag(Mockito.any())).thenReturn(Mono.just("64b7f0c2a1e4d3b2c1f0e9d8-2"));
+        Mockito.when(episodeService.findByTitle(Mockito.any())).thenReturn(Mono.just(episode));
+    }
+
+    @Test
+    void findByTitleReturnsTheEpisodeWithItsETag() {
+        // Actions
+        ResponseEntity<EpisodeResponse> response = episodeController.findByTitle("Enter: Naruto Uzumaki!", exchange(null)).block();
+
+        // Assertions
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(ETAG, response.getHeaders().getETag());
+        Assertions.assertEquals(episode, response.getBody());
+    }
+
+    @Test
+    void findByTitleAnswersNotModifiedWithoutLoadingTheEpisode() {
+        // Actions
+        ResponseEntity<EpisodeResponse> response = episodeController.findByTitle("Enter: Naruto Uzumaki!", exchange(ETAG)).block();
+
+        // Assertions
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        Assertions.assertEquals(ETAG, response.getHeaders().getETag());
+        Assertions.assertNull(response.getBody());
+        Mockito.verify(episodeService, Mockito.never()).findByTitle(Mockito.any());
+    }
+
+    @Test
+    void findByTitleReturnsTheEpisodeAgainOnceItsVersionMoved() {
+        // Actions
+        ResponseEntity<EpisodeResponse> response = episodeController.findByTitle("Enter: Naruto Uzumaki!",
+                exchange("\"64b7f0c2a1e4d3b2c1f0e9d8-1\"")).block();
+
+        // Assertions
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(ETAG, response.getHeaders().getETag());
+    }
+
+    private static MockServerWebExchange exchange(String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/episodes/Enter: Naruto Uzumaki!");
+
+        if (ifNoneMatch != null) {
+            request.ifNoneMatch(ifNoneMatch);
+        }
+
+        return MockServerWebExchange.from(request);
+    }
+}
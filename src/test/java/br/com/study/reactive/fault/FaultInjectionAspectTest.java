@@ -0,0 +1,99 @@
+package br.com.study.reactive.fault;
+
+import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.domain.EpisodeSummary;
+import br.com.study.reactive.repository.EpisodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+@ExtendWith(SpringExtension.class)
+class FaultInjectionAspectTest {
+
+    @Mock
+    private EpisodeRepository episodeRepository;
+
+    private final Episode episode = Episode.builder().id("1").name("Naruto").title("Enter: Naruto Uzumaki!").build();
+    private final EpisodeSummary episodeSummary = new EpisodeSummary("1", "Naruto", "Enter: Naruto Uzumaki!");
+
+    @BeforeEach
+    void setup() {
+        Mockito.when(episodeRepository.findByName(Mockito.any())).thenReturn(Flux.just(episodeSummary));
+        Mockito.when(episodeRepository.findAll()).thenReturn(Flux.just(episode));
+    }
+
+    @Test
+    void delayIsAppliedWithoutBlockingWhenConfigured() {
+        // Assemble
+        EpisodeRepository repository = proxy(Map.of(
+                "reactive.fault-injection.repositories.EpisodeRepository.findByName.delay.min", "100ms"));
+
+        // Assertions
+        StepVerifier.withVirtualTime(() -> repository.findByName("Naruto"))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .expectNext(episodeSummary)
+                .verifyComplete();
+    }
+
+    @Test
+    void inheritedMethodsAreMatchedByRepositoryName() {
+        // Assemble
+        EpisodeRepository repository = proxy(Map.of(
+                "reactive.fault-injection.repositories.EpisodeRepository.findAll.error-rate", "1"));
+
+        // Assertions
+        StepVerifier.create(repository.findAll())
+                .expectSubscription()
+                .verifyError(InjectedFaultException.class);
+    }
+
+    @Test
+    void timeoutFailsCallsSlowerThanDeadline() {
+        // Assemble
+        EpisodeRepository repository = proxy(Map.of(
+                "reactive.fault-injection.repositories.EpisodeRepository.findByName.delay.min", "2s",
+                "reactive.fault-injection.repositories.EpisodeRepository.findByName.timeout", "1s"));
+
+        // Assertions
+        StepVerifier.withVirtualTime(() -> repository.findByName("Naruto"))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(1))
+                .verifyError(TimeoutException.class);
+    }
+
+    @Test
+    void unconfiguredMethodsAreLeftUntouched() {
+        // Assemble
+        EpisodeRepository repository = proxy(Map.of(
+                "reactive.fault-injection.repositories.EpisodeRepository.findByName.error-rate", "1"));
+
+        // Assertions
+        StepVerifier.create(repository.findAll())
+                .expectSubscription()
+                .expectNext(episode)
+                .verifyComplete();
+    }
+
+    private EpisodeRepository proxy(Map<String, String> configuration) {
+        FaultInjectionProperties properties = new Binder(new MapConfigurationPropertySource(configuration))
+                .bindOrCreate("reactive.fault-injection", FaultInjectionProperties.class);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(episodeRepository);
+        factory.addAspect(new FaultInjectionAspect(properties));
+
+        return factory.getProxy();
+    }
+}
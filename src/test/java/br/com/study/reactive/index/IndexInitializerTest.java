@@ -0,0 +1,51 @@
+package br.com.study.reactive.index;
+
+import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.Episode;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import java.util.List;
+
+class IndexInitializerTest {
+
+    private MongoServer mongoServer;
+    private MongoClient mongoClient;
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setup() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        mongoClient = MongoClients.create(mongoServer.bindAndGetConnectionString());
+        mongoTemplate = new ReactiveMongoTemplate(mongoClient, "anime");
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+        mongoServer.shutdownNow();
+    }
+
+    @Test
+    void runCreatesDeclaredIndexes() {
+        // Actions
+        new IndexInitializer(mongoTemplate, new IndexProperties()).run(new DefaultApplicationArguments());
+
+        // Assertions
+        List<IndexInfo> animeIndexes = mongoTemplate.indexOps(Anime.class).getIndexInfo().collectList().block();
+        List<IndexInfo> episodeIndexes = mongoTemplate.indexOps(Episode.class).getIndexInfo().collectList().block();
+
+        Assertions.assertTrue(animeIndexes.stream().anyMatch(index -> index.isIndexForFields(List.of("name")) && index.isUnique()));
+        Assertions.assertTrue(episodeIndexes.stream().anyMatch(index -> index.isIndexForFields(List.of("name")) && !index.isUnique()));
+        Assertions.assertTrue(episodeIndexes.stream().anyMatch(index -> index.isIndexForFields(List.of("title")) && index.isUnique()));
+    }
+}
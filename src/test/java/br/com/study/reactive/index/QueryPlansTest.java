@@ -0,0 +1,32 @@
+package br.com.study.reactive.index;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class QueryPlansTest {
+
+    @Test
+    void usesCollectionScanReturnTrueWhenWinningPlanScansCollection() {
+        // Assemble
+        Document explain = Document.parse("""
+                { "queryPlanner": { "winningPlan": { "stage": "COLLSCAN", "filter": { "name": { "$eq": "" } } } } }
+                """);
+
+        // Assertions
+        Assertions.assertTrue(QueryPlans.usesCollectionScan(explain));
+    }
+
+    @Test
+    void usesCollectionScanReturnFalseWhenWinningPlanUsesIndex() {
+        // Assemble
+        Document explain = Document.parse("""
+                { "queryPlanner": { "winningPlan": { "queryPlan": { "stage": "FETCH",
+                    "inputStage": { "stage": "IXSCAN", "indexName": "name" } } },
+                  "rejectedPlans": [ { "stage": "COLLSCAN" } ] } }
+                """);
+
+        // Assertions
+        Assertions.assertFalse(QueryPlans.usesCollectionScan(explain));
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.study.reactive.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Sinks.Empty<Void> release = Sinks.empty();
+    private final WebFilterChain pending = exchange -> release.asMono();
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setup() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(1);
+
+        ConcurrencyLimitProperties.Route listing = new ConcurrencyLimitProperties.Route();
+        listing.setMethod("GET");
+        listing.setPath("/animes");
+        properties.setRoutes(List.of(listing));
+
+        filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+    }
+
+    @Test
+    void lowPriorityRequestsAreShedBeforeNormalOnes() {
+        // Assemble
+        List<Disposable> admitted = List.of(
+                filter.filter(get("/animes"), pending).subscribe(),
+                filter.filter(get("/animes"), pending).subscribe());
+
+        // Actions
+        ServerWebExchange listing = get("/animes");
+        filter.filter(listing, pending).block();
+
+        ServerWebExchange lookup = get("/animes/Naruto");
+        Disposable lookupInFlight = filter.filter(lookup, pending).subscribe();
+
+        // Assertions
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, listing.getResponse().getStatusCode());
+        Assertions.assertEquals("1", listing.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Assertions.assertNull(lookup.getResponse().getStatusCode());
+        Assertions.assertEquals(1.0, meterRegistry.get("concurrency.rejected").tag("priority", "LOW").counter().count());
+
+        admitted.forEach(Disposable::dispose);
+        lookupInFlight.dispose();
+    }
+
+    @Test
+    void normalRequestsAreRejectedOnceTheLimitIsReached() {
+        // Assemble
+        for (int i = 0; i < 4; i++) {
+            filter.filter(get("/animes/Naruto"), pending).subscribe();
+        }
+
+        // Actions
+        ServerWebExchange rejected = get("/animes/Naruto");
+        filter.filter(rejected, pending).block();
+
+        release.tryEmitEmpty();
+
+        ServerWebExchange admitted = get("/animes/Naruto");
+        filter.filter(admitted, exchange -> Mono.empty()).block();
+
+        // Assertions
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        Assertions.assertNull(admitted.getResponse().getStatusCode());
+        Assertions.assertEquals(0.0, meterRegistry.get("concurrency.in.flight").gauge().value());
+    }
+
+    @Test
+    void excludedPathsAreNeverLimited() {
+        // Assemble
+        for (int i = 0; i < 4; i++) {
+            filter.filter(get("/animes/Naruto"), pending).subscribe();
+        }
+
+        // Actions
+        ServerWebExchange health = get("/actuator/health");
+        filter.filter(health, exchange -> Mono.empty()).block();
+
+        // Assertions
+        Assertions.assertNull(health.getResponse().getStatusCode());
+
+        release.tryEmitEmpty();
+    }
+
+    private static ServerWebExchange get(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.study.reactive.limit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class GradientLimitTest {
+
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+    @Test
+    void limitGrowsWhileLatencyStaysFlat() {
+        // Assemble
+        GradientLimit limit = new GradientLimit(properties);
+
+        // Actions
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), limit.getLimit());
+        }
+
+        // Assertions
+        Assertions.assertTrue(limit.getLimit() > properties.getInitialLimit());
+    }
+
+    @Test
+    void limitShrinksWhenQueueingRaisesLatency() {
+        // Assemble
+        GradientLimit limit = new GradientLimit(properties);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), limit.getLimit());
+        }
+
+        int beforeOverload = limit.getLimit();
+
+        // Actions
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(50), limit.getLimit());
+        }
+
+        // Assertions
+        Assertions.assertTrue(limit.getLimit() < beforeOverload);
+        Assertions.assertTrue(limit.getLimit() >= properties.getMinLimit());
+    }
+
+    @Test
+    void limitIgnoresSamplesTakenWellBelowIt() {
+        // Assemble
+        GradientLimit limit = new GradientLimit(properties);
+
+        // Actions
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(5), 1);
+        }
+
+        // Assertions
+        Assertions.assertEquals(properties.getInitialLimit(), limit.getLimit());
+    }
+}
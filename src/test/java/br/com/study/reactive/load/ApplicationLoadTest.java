@@ -0,0 +1,217 @@
+package br.com.study.reactive.load;
+
+import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.repository.AnimeRepository;
+import br.com.study.reactive.repository.EpisodeRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Drives the whole application over HTTP against an in-process Mongo stand-in and writes a report to
+ * {@code target/load-test/report.json}. Excluded from the default build; run it with {@code ./mvnw -Pload-test} and
+ * size it with the {@code -Dload.*} properties read by {@link LoadSettings}.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "reactive.indexes.strict=false",
+        "logging.level.br.com.study.reactive=WARN",
+        "logging.level.de.bwaldvogel=WARN",
+        "logging.level.org.springframework.data.mongodb.core.ReactiveMongoTemplate=WARN",
+        "logging.level.reactor.netty.http.client=WARN"
+})
+class ApplicationLoadTest {
+
+    private static final MongoServer MONGO_SERVER = new MongoServer(new MemoryBackend());
+    private static final String MONGO_URI = MONGO_SERVER.bindAndGetConnectionString() + "/anime";
+
+    private final LoadSettings settings = LoadSettings.fromSystemProperties();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AnimeRepository animeRepository;
+
+    @Autowired
+    private EpisodeRepository episodeRepository;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> MONGO_URI);
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO_SERVER.shutdownNow();
+    }
+
+    @Test
+    void applicationUnderOpenModelLoad() throws IOException {
+        // Assemble
+        List<String> animeNames = IntStream.range(0, settings.getAnimes()).mapToObj(i -> "Anime " + i).toList();
+        List<String> writableAnimeNames = IntStream.range(0, Math.max(settings.getAnimes() / 4, 1))
+                .mapToObj(i -> "Writable anime " + i)
+                .toList();
+        List<String> episodeTitles = seed(animeNames, writableAnimeNames);
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(
+                scenarios(webClient(), animeNames, writableAnimeNames, episodeTitles));
+
+        // Actions
+        generator.run(settings.getRate(), settings.getWarmup());
+        LoadReport report = generator.run(settings.getRate(), settings.getDuration());
+        Path file = report.writeTo(settings.getReportDirectory());
+
+        // Assertions
+        log.warn("Load report written to {}: {} requests, {} req/s, p99 {} ms, error rate {}", file.toAbsolutePath(),
+                report.getTotal().getRequests(), report.getTotal().getThroughput(), report.getTotal().getP99(),
+                report.getTotal().getErrorRate());
+
+        Assertions.assertTrue(report.getTotal().getRequests() > 0);
+        Assertions.assertTrue(report.getTotal().getErrorRate() <= settings.getMaxErrorRate(),
+                () -> "Error rate " + report.getTotal().getErrorRate() + " above " + settings.getMaxErrorRate());
+    }
+
+    /**
+     * Seeds both anime lists with episodes and returns the titles of the read-only animes' episodes; writable animes
+     * get renamed and deleted during the run, taking their episodes with them.
+     */
+    private List<String> seed(List<String> animeNames, List<String> writableAnimeNames) {
+        List<Episode> episodes = episodes(animeNames);
+        List<String> allNames = new ArrayList<>(animeNames);
+        allNames.addAll(writableAnimeNames);
+
+        animeRepository.deleteAll()
+                .then(episodeRepository.deleteAll())
+                .thenMany(animeRepository.insert(Flux.fromIterable(allNames).map(name -> Anime.builder().name(name).build())))
+                .thenMany(episodeRepository.insert(episodes))
+                .thenMany(episodeRepository.insert(episodes(writableAnimeNames)))
+                .blockLast();
+
+        return episodes.stream().map(Episode::getTitle).toList();
+    }
+
+    private List<Episode> episodes(List<String> animeNames) {
+        List<Episode> episodes = new ArrayList<>();
+        animeNames.forEach(name -> IntStream.range(0, settings.getEpisodesPerAnime())
+                .mapToObj(i -> Episode.builder().name(name).title(name + " - Episode " + i).build())
+                .forEach(episodes::add));
+        return episodes;
+    }
+
+    private WebClient webClient() {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("load-test")
+                .maxConnections(1024)
+                .pendingAcquireMaxCount(-1)
+                .build();
+
+        return WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+    }
+
+    /**
+     * Read-heavy mix. Updates and deletes consume titles and writable anime names from shared pools so each one
+     * targets a document that should still exist, and creates feed new ones back into them. Episodes are only written
+     * under the read-only animes, so renaming or deleting a writable anime never pulls an episode from under them.
+     */
+    private List<LoadScenario> scenarios(WebClient webClient, List<String> animeNames, List<String> writableAnimeNames,
+                                         List<String> episodeTitles) {
+        List<String> shuffledTitles = new ArrayList<>(episodeTitles);
+        Collections.shuffle(shuffledTitles);
+        Queue<String> writableTitles = new ConcurrentLinkedQueue<>(shuffledTitles);
+        Queue<String> writableAnimes = new ConcurrentLinkedQueue<>(writableAnimeNames);
+
+        return List.of(
+                new LoadScenario("GET /animes", 2, () -> exchange(webClient.get().uri("/animes"))),
+                new LoadScenario("GET /animes/{name}", 50, () ->
+                        exchange(webClient.get().uri("/animes/{name}", random(animeNames)))),
+                new LoadScenario("GET /episodes?size", 10, () ->
+                        exchange(webClient.get().uri("/episodes?size={size}", 50))),
+                new LoadScenario("GET /episodes/{title}", 25, () ->
+                        exchange(webClient.get().uri("/episodes/{title}", random(episodeTitles)))),
+                new LoadScenario("POST /animes", 1, () -> {
+                    String name = "Load anime " + sequence.incrementAndGet();
+                    return exchange(webClient.post().uri("/animes").bodyValue(Anime.builder().name(name).build()))
+                            .doOnNext(status -> {
+                                if (status.is2xxSuccessful()) {
+                                    writableAnimes.offer(name);
+                                }
+                            });
+                }),
+                new LoadScenario("PUT /animes/{name}", 1, () -> {
+                    String name = pollOrRandom(writableAnimes, writableAnimeNames);
+                    String newName = "Load anime " + sequence.incrementAndGet();
+                    return exchange(webClient.put().uri("/animes/{name}", name).bodyValue(Anime.builder().name(newName).build()))
+                            .doOnNext(status -> writableAnimes.offer(status.is2xxSuccessful() ? newName : name));
+                }),
+                new LoadScenario("DELETE /animes/{name}", 1, () ->
+                        exchange(webClient.delete().uri("/animes/{name}", pollOrRandom(writableAnimes, writableAnimeNames)))),
+                new LoadScenario("POST /episodes", 6, () -> {
+                    Episode episode = newEpisode(animeNames);
+                    return exchange(webClient.post().uri("/episodes").bodyValue(episode))
+                            .doOnNext(status -> {
+                                if (status.is2xxSuccessful()) {
+                                    writableTitles.offer(episode.getTitle());
+                                }
+                            });
+                }),
+                new LoadScenario("PUT /episodes/{title}", 3, () -> {
+                    String title = pollOrRandom(writableTitles, episodeTitles);
+                    Episode episode = Episode.builder().name(random(animeNames)).title(title).build();
+                    return exchange(webClient.put().uri("/episodes/{title}", title).bodyValue(episode))
+                            .doFinally(signal -> writableTitles.offer(title));
+                }),
+                new LoadScenario("DELETE /episodes/{title}", 3, () ->
+                        exchange(webClient.delete().uri("/episodes/{title}", pollOrRandom(writableTitles, episodeTitles)))));
+    }
+
+    private Episode newEpisode(List<String> animeNames) {
+        String name = random(animeNames);
+        return Episode.builder().name(name).title(name + " - Load episode " + sequence.incrementAndGet()).build();
+    }
+
+    private static Mono<HttpStatusCode> exchange(WebClient.RequestHeadersSpec<?> request) {
+        return request.exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()));
+    }
+
+    private static String pollOrRandom(Queue<String> titles, List<String> fallback) {
+        String title = titles.poll();
+        return title != null ? title : random(fallback);
+    }
+
+    private static String random(List<String> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.study.reactive.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Builder;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Machine-readable result of one load run. Latencies are in milliseconds and throughput in completed requests per
+ * second over the measured window.
+ */
+@Value
+@Builder
+class LoadReport {
+
+    Instant startedAt;
+    double offeredRate;
+    Duration duration;
+    ScenarioReport total;
+    Map<String, ScenarioReport> scenarios;
+
+    Path writeTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("report.json");
+
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .writerWithDefaultPrettyPrinter()
+                .writeValue(file.toFile(), this);
+
+        return file;
+    }
+
+    @Value
+    @Builder
+    static class ScenarioReport {
+
+        long requests;
+        long errors;
+        double errorRate;
+        double throughput;
+        double p50;
+        double p99;
+        double p999;
+        double max;
+        Map<String, Long> statuses;
+
+        static ScenarioReport of(Histogram latencyMicros, long errors, Map<String, Long> statuses, long elapsedNanos) {
+            long requests = latencyMicros.getTotalCount();
+
+            return ScenarioReport.builder()
+                    .requests(requests)
+                    .errors(errors)
+                    .errorRate(requests == 0 ? 0 : (double) errors / requests)
+                    .throughput(requests * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos)
+                    .p50(millis(latencyMicros.getValueAtPercentile(50)))
+                    .p99(millis(latencyMicros.getValueAtPercentile(99)))
+                    .p999(millis(latencyMicros.getValueAtPercentile(99.9)))
+                    .max(millis(latencyMicros.getMaxValue()))
+                    .statuses(statuses)
+                    .build();
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
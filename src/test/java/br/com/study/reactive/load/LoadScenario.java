@@ -0,0 +1,18 @@
+package br.com.study.reactive.load;
+
+import lombok.Value;
+import org.springframework.http.HttpStatusCode;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * One kind of request in the load mix. The weight is relative to the other scenarios of the same run.
+ */
+@Value
+class LoadScenario {
+
+    String name;
+    int weight;
+    Supplier<Mono<HttpStatusCode>> request;
+}
@@ -0,0 +1,35 @@
+package br.com.study.reactive.load;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test knobs, read from {@code -Dload.*} system properties so a run can be resized without editing code.
+ */
+@Value
+@Builder
+class LoadSettings {
+
+    double rate;
+    Duration warmup;
+    Duration duration;
+    int animes;
+    int episodesPerAnime;
+    double maxErrorRate;
+    Path reportDirectory;
+
+    static LoadSettings fromSystemProperties() {
+        return LoadSettings.builder()
+                .rate(Double.parseDouble(System.getProperty("load.rate", "200")))
+                .warmup(Duration.parse(System.getProperty("load.warmup", "PT10S")))
+                .duration(Duration.parse(System.getProperty("load.duration", "PT30S")))
+                .animes(Integer.getInteger("load.animes", 100))
+                .episodesPerAnime(Integer.getInteger("load.episodes-per-anime", 10))
+                .maxErrorRate(Double.parseDouble(System.getProperty("load.max-error-rate", "0.01")))
+                .reportDirectory(Path.of(System.getProperty("load.report-directory", "target/load-test")))
+                .build();
+    }
+}
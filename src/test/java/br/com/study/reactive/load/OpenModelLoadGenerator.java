@@ -0,0 +1,121 @@
+package br.com.study.reactive.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.http.HttpStatusCode;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Open-model load generator: requests arrive at a fixed rate whether or not earlier ones have completed, so a slow
+ * server builds up in-flight requests instead of silently lowering the offered load. Latency is measured from the
+ * intended arrival time, which keeps generator hiccups from hiding server stalls (coordinated omission).
+ */
+class OpenModelLoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final List<LoadScenario> scenarios;
+    private final int totalWeight;
+
+    OpenModelLoadGenerator(List<LoadScenario> scenarios) {
+        this.scenarios = List.copyOf(scenarios);
+        this.totalWeight = scenarios.stream().mapToInt(LoadScenario::getWeight).sum();
+    }
+
+    LoadReport run(double rate, Duration duration) {
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        Map<String, ScenarioStats> stats = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> stats.put(scenario.getName(), new ScenarioStats()));
+
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+
+        Flux.interval(Duration.ofNanos(periodNanos))
+                .take(duration)
+                .flatMap(tick -> {
+                    long intendedStart = start + (tick + 1) * periodNanos;
+                    LoadScenario scenario = pick();
+                    ScenarioStats scenarioStats = stats.get(scenario.getName());
+
+                    return Mono.defer(scenario.getRequest())
+                            .map(HttpStatusCode::value)
+                            .onErrorReturn(0)
+                            .defaultIfEmpty(0)
+                            .doOnNext(status -> scenarioStats.record(status, System.nanoTime() - intendedStart));
+                }, Integer.MAX_VALUE)
+                .then()
+                .block(duration.plus(DRAIN_TIMEOUT));
+
+        long elapsedNanos = System.nanoTime() - start;
+
+        Map<String, LoadReport.ScenarioReport> scenarioReports = new LinkedHashMap<>();
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Map<String, Long> totalStatuses = new TreeMap<>();
+        stats.forEach((name, scenarioStats) -> {
+            Histogram histogram = scenarioStats.latency.getIntervalHistogram();
+            total.add(histogram);
+            scenarioStats.statusCounts().forEach((status, count) -> totalStatuses.merge(status, count, Long::sum));
+            scenarioReports.put(name, LoadReport.ScenarioReport.of(histogram, scenarioStats.errors.sum(),
+                    scenarioStats.statusCounts(), elapsedNanos));
+        });
+
+        return LoadReport.builder()
+                .startedAt(startedAt)
+                .offeredRate(rate)
+                .duration(Duration.ofNanos(elapsedNanos))
+                .total(LoadReport.ScenarioReport.of(total,
+                        scenarioReports.values().stream().mapToLong(LoadReport.ScenarioReport::getErrors).sum(),
+                        totalStatuses, elapsedNanos))
+                .scenarios(scenarioReports)
+                .build();
+    }
+
+    private LoadScenario pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+
+        for (LoadScenario scenario : scenarios) {
+            ticket -= scenario.getWeight();
+
+            if (ticket < 0) {
+                return scenario;
+            }
+        }
+
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private static class ScenarioStats {
+
+        private final Recorder latency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(int status, long latencyNanos) {
+            latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+
+            if (status == 0 || status >= 400) {
+                errors.increment();
+            }
+        }
+
+        Map<String, Long> statusCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status == 0 ? "exception" : String.valueOf(status), count.sum()));
+            return counts;
+        }
+    }
+}
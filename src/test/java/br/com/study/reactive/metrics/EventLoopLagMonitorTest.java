@@ -0,0 +1,89 @@
+package br.com.study.reactive.metrics;
+
+import br.com.study.reactive.scheduler.SchedulerProperties;
+import br.com.study.reactive.scheduler.ServiceSchedulers;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(SpringExtension.class)
+class EventLoopLagMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ServiceSchedulers schedulers;
+    private EventLoopLagMonitor monitor;
+
+    @BeforeEach
+    void setup() {
+        SchedulerProperties schedulerProperties = new SchedulerProperties();
+        schedulerProperties.getBulk().setThreads(1);
+        schedulers = new ServiceSchedulers(schedulerProperties, meterRegistry);
+
+        EventLoopLagProperties properties = new EventLoopLagProperties();
+        properties.setInterval(Duration.ZERO);
+        properties.setThreshold(Duration.ofMillis(50));
+        monitor = new EventLoopLagMonitor(properties, schedulers, meterRegistry);
+        monitor.monitor("bulk", schedulers.bulk());
+    }
+
+    @AfterEach
+    void tearDown() {
+        schedulers.destroy();
+    }
+
+    @Test
+    void tickRecordsHowLongProbesWaited() throws InterruptedException {
+        // Actions
+        monitor.tick();
+
+        // Assertions
+        Timer lag = meterRegistry.get("event.loop.lag").tag("executor", "bulk").timer();
+        awaitCount(lag, 1);
+        Assertions.assertEquals(0, meterRegistry.get("event.loop.stalls").tag("executor", "bulk").counter().count());
+    }
+
+    @Test
+    void tickReportsAStallWhileTheProbeIsStillWaiting() throws InterruptedException {
+        // Assemble
+        CountDownLatch release = new CountDownLatch(1);
+        schedulers.bulk().schedule(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Actions
+        monitor.tick();
+        Thread.sleep(100);
+        monitor.tick();
+        monitor.tick();
+
+        // Assertions
+        Assertions.assertEquals(1, meterRegistry.get("event.loop.stalls").tag("executor", "bulk").counter().count());
+
+        release.countDown();
+        Timer lag = meterRegistry.get("event.loop.lag").tag("executor", "bulk").timer();
+        awaitCount(lag, 1);
+        Assertions.assertTrue(lag.max(TimeUnit.MILLISECONDS) >= 100);
+    }
+
+    private static void awaitCount(Timer timer, long count) throws InterruptedException {
+        for (int i = 0; i < 100 && timer.count() < count; i++) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(count, timer.count());
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.study.reactive.metrics;
+
+import br.com.study.reactive.domain.EpisodeSummary;
+import br.com.study.reactive.repository.EpisodeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(SpringExtension.class)
+class MetricsAspectTest {
+
+    @Mock
+    private EpisodeRepository episodeRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EpisodeRepository repository;
+
+    @BeforeEach
+    void setup() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(episodeRepository);
+        factory.addAspect(new MetricsAspect(meterRegistry));
+        repository = factory.getProxy();
+    }
+
+    @Test
+    void fluxCallsRecordTimerAndEmittedElements() {
+        // Assemble
+        Mockito.when(episodeRepository.findByName(Mockito.any())).thenReturn(Flux.just(new EpisodeSummary("1", "Naruto", "1"), new EpisodeSummary("2", "Naruto", "2")));
+
+        // Actions
+        StepVerifier.create(repository.findByName("Naruto"))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        // Assertions
+        Assertions.assertEquals(1, meterRegistry.get(MetricsAspect.CALLS)
+                .tags("layer", "repository", "class", "EpisodeRepository", "method", "findByName", "outcome", "success")
+                .timer().count());
+        Assertions.assertEquals(2, meterRegistry.get(MetricsAspect.ELEMENTS).tags("method", "findByName").counter().count());
+    }
+
+    @Test
+    void failedCallsAreCountedByException() {
+        // Assemble
+        Mockito.when(episodeRepository.findSummaryByTitle(Mockito.any())).thenReturn(Mono.error(new IllegalStateException()));
+
+        // Actions
+        StepVerifier.create(repository.findSummaryByTitle("Enter: Naruto Uzumaki!"))
+                .verifyError(IllegalStateException.class);
+
+        // Assertions
+        Assertions.assertEquals(1, meterRegistry.get(MetricsAspect.ERRORS)
+                .tags("method", "findSummaryByTitle", "exception", "IllegalStateException")
+                .counter().count());
+        Assertions.assertEquals(1, meterRegistry.get(MetricsAspect.CALLS).tags("outcome", "error").timer().count());
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.study.reactive.repository;
+
+import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.VersionSummary;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+class AnimeRepositoryTest {
+
+    private MongoServer mongoServer;
+    private MongoClient mongoClient;
+    private AnimeRepository animeRepository;
+
+    @BeforeEach
+    void setup() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        mongoClient = MongoClients.create(mongoServer.bindAndGetConnectionString());
+        ReactiveMongoTemplate mongoTemplate = new ReactiveMongoTemplate(mongoClient, "anime");
+        animeRepository = new ReactiveMongoRepositoryFactory(mongoTemplate)
+                .getRepository(AnimeRepository.class, RepositoryFragments.just(new AnimeWriteRepositoryImpl(mongoTemplate)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+        mongoServer.shutdownNow();
+    }
+
+    @Test
+    void versionStartsAtZeroAndMovesOnEverySaveAndIncrement() {
+        // Assemble
+        Anime anime = animeRepository.save(Anime.builder().name("Naruto").build()).block();
+
+        // Actions
+        Long versionAfterInsert = anime.getVersion();
+        Anime renamed = animeRepository.save(anime.withName("Naruto Shippuden")).block();
+        Long incremented = animeRepository.findAndIncrementVersionByName("Naruto Shippuden").block();
+        VersionSummary summary = animeRepository.findVersionByName("Naruto Shippuden").block();
+
+        // Assertions
+        Assertions.assertEquals(0L, versionAfterInsert);
+        Assertions.assertEquals(1L, renamed.getVersion());
+        Assertions.assertEquals(1L, incremented);
+        Assertions.assertEquals(new VersionSummary(anime.getId(), 2L), summary);
+    }
+
+    @Test
+    void findAndModifyByNameReturnsBeforeImageOnlyWhileVersionMatches() {
+        // Assemble
+        Anime anime = animeRepository.save(Anime.builder().name("Naruto").build()).block();
+        VersionSummary current = new VersionSummary(anime.getId(), 0L);
+
+        // Actions
+        Anime previous = animeRepository.findAndModifyByName("Naruto", Anime.builder().name("Naruto Shippuden").build(), current).block();
+        Anime stale = animeRepository.findAndModifyByName("Naruto Shippuden", Anime.builder().name("Boruto").build(), current).block();
+        Anime removedWhileStale = animeRepository.findAndRemoveByName("Naruto Shippuden", current).block();
+        Anime removed = animeRepository.findAndRemoveByName("Naruto Shippuden", new VersionSummary(anime.getId(), 1L)).block();
+
+        // Assertions
+        Assertions.assertEquals(anime, previous);
+        Assertions.assertNull(stale);
+        Assertions.assertNull(removedWhileStale);
+        Assertions.assertEquals(anime.withName("Naruto Shippuden").withVersion(1L), removed);
+        Assertions.assertNull(animeRepository.findSummaryByName("Naruto Shippuden").block());
+    }
+
+    @Test
+    void findAndModifyByNameMatchesVersionZeroOnDocumentsWrittenBeforeVersioning() {
+        // Assemble
+        Mono.from(mongoClient.getDatabase("anime").getCollection("anime")
+                .insertOne(new Document("_id", new ObjectId()).append("name", "Naruto"))).block();
+        String id = animeRepository.findVersionByName("Naruto").block().getId();
+
+        // Actions
+        Anime previous = animeRepository.findAndModifyByName("Naruto", Anime.builder().build(), new VersionSummary(id, 0L)).block();
+
+        // Assertions
+        Assertions.assertNull(previous.getVersion());
+        Assertions.assertEquals(new VersionSummary(id, 1L), animeRepository.findVersionByName("Naruto").block());
+    }
+
+    @Test
+    void findVersionsByIdInOnlyReturnsExistingIds() {
+        // Assemble
+        Anime anime = animeRepository.save(Anime.builder().name("Naruto").build()).block();
+
+        // Actions
+        List<VersionSummary> versions = animeRepository.findVersionsByIdIn(List.of(anime.getId(), new ObjectId().toHexString()))
+                .collectList()
+                .block();
+
+        // Assertions
+        Assertions.assertEquals(List.of(new VersionSummary(anime.getId(), 0L)), versions);
+    }
+}
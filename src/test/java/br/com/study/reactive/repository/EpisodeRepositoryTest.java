@@ -0,0 +1,110 @@
+package br.com.study.reactive.repository;
+
+import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.domain.EpisodeSummary;
+import br.com.study.reactive.domain.VersionSummary;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class EpisodeRepositoryTest {
+
+    private final List<BsonDocument> findCommands = new CopyOnWriteArrayList<>();
+
+    private MongoServer mongoServer;
+    private MongoClient mongoClient;
+    private EpisodeRepository episodeRepository;
+
+    @BeforeEach
+    void setup() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        mongoClient = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(mongoServer.bindAndGetConnectionString()))
+                .addCommandListener(new CommandListener() {
+                    @Override
+                    public void commandStarted(CommandStartedEvent event) {
+                        if (event.getCommandName().equals("find")) {
+                            findCommands.add(event.getCommand());
+                        }
+                    }
+                })
+                .build());
+
+        ReactiveMongoTemplate mongoTemplate = new ReactiveMongoTemplate(mongoClient, "anime");
+        episodeRepository = Repositories.episode(mongoTemplate);
+
+        mongoTemplate.insert(new Document("name", "Naruto")
+                .append("title", "Enter: Naruto Uzumaki!")
+                .append("synopsis", "Decoded only when a read path asks for it"), "episode").block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+        mongoServer.shutdownNow();
+    }
+
+    @Test
+    void summaryFindersOnlyFetchMappedFields() {
+        // Actions
+        EpisodeSummary episode = episodeRepository.findByName("Naruto").blockFirst();
+
+        // Assertions
+        Assertions.assertEquals("Enter: Naruto Uzumaki!", episode.getTitle());
+        Assertions.assertNotNull(episode.getId());
+        Assertions.assertEquals(Set.of("_id", "name", "title"), findCommands.get(0).getDocument("projection").keySet());
+    }
+
+    @Test
+    void findAndModifyByTitleOnlySetsGivenFieldsWhileVersionMatches() {
+        // Assemble
+        Episode episode = episodeRepository.save(Episode.builder().name("Bleach").title("The Day I Became a Shinigami").build()).block();
+        VersionSummary current = new VersionSummary(episode.getId(), 0L);
+
+        // Actions
+        Episode previous = episodeRepository.findAndModifyByTitle("The Day I Became a Shinigami",
+                Episode.builder().id("ignored").title("A Shinigami's Work").build(), current).block();
+        Episode stale = episodeRepository.findAndModifyByTitle("A Shinigami's Work",
+                Episode.builder().name("Naruto").build(), current).block();
+        EpisodeSummary updated = episodeRepository.findSummaryByTitle("A Shinigami's Work").block();
+
+        // Assertions
+        Assertions.assertEquals(episode, previous);
+        Assertions.assertNull(stale);
+        Assertions.assertEquals(new EpisodeSummary(episode.getId(), "Bleach", "A Shinigami's Work"), updated);
+        Assertions.assertEquals(new VersionSummary(episode.getId(), 1L), episodeRepository.findVersionByTitle("A Shinigami's Work").block());
+    }
+
+    @Test
+    void findAndRemoveByTitleOnlyRemovesWhileVersionMatches() {
+        // Assemble
+        Episode episode = episodeRepository.save(Episode.builder().name("Bleach").title("The Day I Became a Shinigami").build()).block();
+
+        // Actions
+        Episode removedWhileStale = episodeRepository.findAndRemoveByTitle("The Day I Became a Shinigami",
+                new VersionSummary(episode.getId(), 3L)).block();
+        Episode removed = episodeRepository.findAndRemoveByTitle("The Day I Became a Shinigami",
+                new VersionSummary(episode.getId(), 0L)).block();
+
+        // Assertions
+        Assertions.assertNull(removedWhileStale);
+        Assertions.assertEquals(episode, removed);
+        Assertions.assertNull(episodeRepository.findSummaryByTitle("The Day I Became a Shinigami").block());
+    }
+}
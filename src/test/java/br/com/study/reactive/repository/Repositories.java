@@ -0,0 +1,30 @@
+package br.com.study.reactive.repository;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+/**
+ * Builds the repositories with their write fragments, as Spring does, for code outside this package that runs over
+ * mongo-java-server.
+ */
+public final class Repositories {
+
+    private Repositories() {
+    }
+
+    public static AnimeRepository anime(ReactiveMongoTemplate mongoTemplate) {
+        return new ReactiveMongoRepositoryFactory(mongoTemplate)
+                .getRepository(AnimeRepository.class, RepositoryFragments.just(new AnimeWriteRepositoryImpl(mongoTemplate)));
+    }
+
+    public static EpisodeRepository episode(ReactiveMongoTemplate mongoTemplate) {
+        return new ReactiveMongoRepositoryFactory(mongoTemplate)
+                .getRepository(EpisodeRepository.class, RepositoryFragments.just(new EpisodeWriteRepositoryImpl(mongoTemplate)));
+    }
+
+    public static AnimeViewRepository animeView(ReactiveMongoTemplate mongoTemplate) {
+        return new ReactiveMongoRepositoryFactory(mongoTemplate)
+                .getRepository(AnimeViewRepository.class, RepositoryFragments.just(new AnimeViewWriteRepositoryImpl(mongoTemplate)));
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.study.reactive.resilience;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+class CircuitBreakerTest {
+
+    private final ResilienceProperties.CircuitBreakerSettings settings = new ResilienceProperties.CircuitBreakerSettings();
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void opensOnceTheFailureRateCrossesTheThreshold() {
+        // Assemble
+        settings.setMinimumCalls(10);
+        CircuitBreaker breaker = new CircuitBreaker("EpisodeRepository", settings, clock);
+
+        // Actions
+        for (int i = 0; i < 5; i++) {
+            breaker.onSuccess(breaker.tryAcquire());
+        }
+
+        for (int i = 0; i < 5; i++) {
+            breaker.onFailure(breaker.tryAcquire(), new IllegalStateException());
+        }
+
+        // Assertions
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Assertions.assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        Assertions.assertEquals("failure rate 50% over the last 10 calls, last error IllegalStateException",
+                breaker.snapshot().getReason());
+    }
+
+    @Test
+    void opensWhenASuccessFillsTheWindowAboveTheThreshold() {
+        // Assemble
+        settings.setMinimumCalls(10);
+        CircuitBreaker breaker = new CircuitBreaker("EpisodeRepository", settings, clock);
+
+        // Actions
+        for (int i = 0; i < 6; i++) {
+            breaker.onFailure(breaker.tryAcquire(), new IllegalStateException());
+        }
+
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess(breaker.tryAcquire());
+        }
+
+        // Assertions
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Assertions.assertEquals("failure rate 60% over the last 10 calls, last error IllegalStateException",
+                breaker.snapshot().getReason());
+    }
+
+    @Test
+    void staysClosedUntilTheWindowHoldsEnoughCalls() {
+        // Assemble
+        CircuitBreaker breaker = new CircuitBreaker("EpisodeRepository", settings, clock);
+
+        // Actions
+        for (int i = 0; i < settings.getMinimumCalls() - 1; i++) {
+            breaker.onFailure(breaker.tryAcquire(), new IllegalStateException());
+        }
+
+        // Assertions
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void closesAfterEveryProbeSucceeded() {
+        // Assemble
+        CircuitBreaker breaker = opened();
+        clock.advance(settings.getOpenDuration());
+
+        // Actions
+        long[] probes = new long[settings.getHalfOpenCalls()];
+
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = breaker.tryAcquire();
+            Assertions.assertNotEquals(CircuitBreaker.REJECTED, probes[i]);
+        }
+
+        long extraProbe = breaker.tryAcquire();
+
+        for (long probe : probes) {
+            breaker.onSuccess(probe);
+        }
+
+        // Assertions
+        Assertions.assertEquals(CircuitBreaker.REJECTED, extraProbe);
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        Assertions.assertEquals(0, breaker.snapshot().getCalls());
+    }
+
+    @Test
+    void reopensWhenAProbeFails() {
+        // Assemble
+        CircuitBreaker breaker = opened();
+        clock.advance(settings.getOpenDuration());
+
+        // Actions
+        breaker.onFailure(breaker.tryAcquire(), new IllegalStateException());
+
+        // Assertions
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Assertions.assertEquals(3, breaker.getTransitions());
+    }
+
+    @Test
+    void ignoresCallsAdmittedBeforeTheBreakerOpenedWhenCountingProbes() {
+        // Assemble
+        CircuitBreaker breaker = new CircuitBreaker("EpisodeRepository", settings, clock);
+        long slowCall = breaker.tryAcquire();
+
+        for (int i = 0; i < settings.getMinimumCalls(); i++) {
+            breaker.onFailure(breaker.tryAcquire(), new IllegalStateException());
+        }
+
+        clock.advance(settings.getOpenDuration());
+        long probe = breaker.tryAcquire();
+
+        // Actions
+        for (int i = 0; i < settings.getHalfOpenCalls(); i++) {
+            breaker.onSuccess(slowCall);
+        }
+
+        long probeWhileSlowCallsFinished = breaker.tryAcquire();
+        breaker.onSuccess(probe);
+
+        // Assertions
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        Assertions.assertNotEquals(CircuitBreaker.REJECTED, probeWhileSlowCallsFinished);
+        Assertions.assertEquals(2, breaker.getTransitions());
+    }
+
+    private CircuitBreaker opened() {
+        CircuitBreaker breaker = new CircuitBreaker("EpisodeRepository", settings, clock);
+
+        for (int i = 0; i < settings.getMinimumCalls(); i++) {
+            breaker.onFailure(breaker.tryAcquire(), new IllegalStateException());
+        }
+
+        return breaker;
+    }
+
+    static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.study.reactive.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ResilienceAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResilienceProperties properties = new ResilienceProperties();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    private ResilienceRegistry registry;
+    private ResilienceAspect aspect;
+
+    @BeforeEach
+    void setup() {
+        properties.setMinBackoff(Duration.ofMillis(1));
+        properties.setMaxBackoff(Duration.ofMillis(1));
+        registry = new ResilienceRegistry(properties, meterRegistry, new CircuitBreakerTest.MutableClock());
+        aspect = new ResilienceAspect(properties, registry);
+    }
+
+    @Test
+    void readIsRetriedAfterAFailure() {
+        // Assemble
+        Mono<String> flaky = Mono.defer(() -> subscriptions.incrementAndGet() == 1
+                ? Mono.error(new DataAccessResourceFailureException("connection reset"))
+                : Mono.just("Naruto"));
+
+        // Actions
+        Mono<String> mono = aspect.decorate("AnimeRepository", "findByName", flaky);
+
+        // Assertions
+        StepVerifier.create(mono)
+                .expectNext("Naruto")
+                .verifyComplete();
+
+        Assertions.assertEquals(2, subscriptions.get());
+        Assertions.assertEquals(1.0, meterRegistry.get("resilience.retries").counter().count());
+    }
+
+    @Test
+    void writesAndConstraintViolationsAreNeverRetried() {
+        // Actions
+        Mono<String> write = aspect.decorate("AnimeRepository", "save",
+                failing(new DataAccessResourceFailureException("connection reset")));
+        Mono<String> duplicate = aspect.decorate("AnimeRepository", "findByName", failing(new DuplicateKeyException("name")));
+
+        // Assertions
+        StepVerifier.create(write).verifyError(DataAccessResourceFailureException.class);
+        StepVerifier.create(duplicate).verifyError(DuplicateKeyException.class);
+
+        Assertions.assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    void retriesStopOnceTheBudgetIsSpent() {
+        // Assemble
+        properties.getRetryBudget().setMaxTokens(1);
+        properties.getRetryBudget().setMinRetriesPerSecond(0);
+        registry = new ResilienceRegistry(properties, meterRegistry, new CircuitBreakerTest.MutableClock());
+        aspect = new ResilienceAspect(properties, registry);
+
+        // Actions
+        Mono<String> mono = aspect.decorate("AnimeRepository", "findByName",
+                failing(new DataAccessResourceFailureException("connection reset")));
+
+        // Assertions
+        StepVerifier.create(mono).verifyError(DataAccessResourceFailureException.class);
+
+        Assertions.assertEquals(2, subscriptions.get());
+        Assertions.assertEquals(1.0, meterRegistry.get("resilience.retries.rejected").counter().count());
+    }
+
+    @Test
+    void fluxIsOnlyBoundedUntilItsFirstElement() {
+        // Assemble
+        properties.setTimeout(Duration.ofMillis(50));
+        properties.setMaxRetries(0);
+
+        // Actions
+        Flux<Long> slowToStart = aspect.decorate("EpisodeRepository", "findSummariesBy", Flux.interval(Duration.ofMillis(200)));
+        Flux<Long> slowBetweenElements = aspect.decorate("EpisodeRepository", "findSummariesBy",
+                Flux.concat(Mono.just(0L), Mono.delay(Duration.ofMillis(200))));
+
+        // Assertions
+        StepVerifier.create(slowToStart).verifyError(CallTimeoutException.class);
+        StepVerifier.create(slowBetweenElements)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void openBreakerFailsCallsFast() {
+        // Assemble
+        properties.setMaxRetries(0);
+        properties.getCircuitBreaker().setMinimumCalls(2);
+
+        for (int i = 0; i < 2; i++) {
+            aspect.decorate("EpisodeRepository", "findByTitle", failing(new DataAccessResourceFailureException("down")))
+                    .onErrorResume(error -> Mono.empty())
+                    .block();
+        }
+
+        // Actions
+        Mono<String> mono = aspect.decorate("EpisodeRepository", "findByTitle", failing(new IllegalStateException()));
+
+        // Assertions
+        StepVerifier.create(mono).verifyError(CircuitBreakerOpenException.class);
+
+        Assertions.assertEquals(2, subscriptions.get());
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, registry.snapshots().get("EpisodeRepository").getState());
+        Assertions.assertEquals(1.0, meterRegistry.get("resilience.breaker.state").gauge().value());
+    }
+
+    private Mono<String> failing(Throwable error) {
+        return Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.error(error);
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.study.reactive.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(SpringExtension.class)
+class ServiceSchedulersTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ServiceSchedulers schedulers;
+
+    @BeforeAll
+    static void blockHoundSetup() {
+        BlockHound.install();
+    }
+
+    @BeforeEach
+    void setup() {
+        schedulers = new ServiceSchedulers(new SchedulerProperties(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        schedulers.destroy();
+    }
+
+    @Test
+    void schedulersRunOnTheirOwnNamedThreads() {
+        // Actions
+        Mono<String> bulk = Mono.fromCallable(() -> Thread.currentThread().getName()).subscribeOn(schedulers.bulk());
+        Mono<String> cpu = Mono.fromCallable(() -> Thread.currentThread().getName()).subscribeOn(schedulers.cpu());
+
+        // Assertions
+        StepVerifier.create(bulk)
+                .expectNextMatches(name -> name.startsWith("bulk-"))
+                .verifyComplete();
+        StepVerifier.create(cpu)
+                .expectNextMatches(name -> name.startsWith("cpu-"))
+                .verifyComplete();
+    }
+
+    @Test
+    void schedulersReportQueueAndTaskMetrics() {
+        // Actions
+        Mono.fromCallable(() -> "done").subscribeOn(schedulers.bulk()).block();
+
+        // Assertions
+        Assertions.assertNotNull(meterRegistry.find("executor.queued").tag("name", "bulk").gauge());
+        Assertions.assertNotNull(meterRegistry.find("executor.active").tag("name", "cpu").gauge());
+        Assertions.assertEquals(1, meterRegistry.get("executor").tag("name", "bulk").timer().count());
+    }
+
+    @Test
+    void blockingCallsAreAllowedOnBlockingButNotOnCpu() {
+        // Actions
+        Mono<Boolean> blocking = Mono.fromCallable(() -> {
+            Thread.sleep(1);
+            return true;
+        }).subscribeOn(schedulers.blocking());
+        Mono<Boolean> cpu = Mono.fromCallable(() -> {
+            Thread.sleep(1);
+            return true;
+        }).subscribeOn(schedulers.cpu());
+
+        // Assertions
+        StepVerifier.create(blocking)
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(cpu)
+                .expectError(BlockingOperationError.class)
+                .verify();
+    }
+}
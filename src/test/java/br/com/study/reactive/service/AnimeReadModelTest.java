@@ -0,0 +1,137 @@
+package br.com.study.reactive.service;
+
+import br.com.study.reactive.config.ReadModelProperties;
+import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.AnimeView;
+import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.dto.ReadModelReport;
+import br.com.study.reactive.repository.Repositories;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+class AnimeReadModelTest {
+
+    private MongoServer mongoServer;
+    private MongoClient mongoClient;
+    private ReactiveMongoTemplate mongoTemplate;
+    private AnimeReadModel animeReadModel;
+
+    @BeforeEach
+    void setup() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        mongoClient = MongoClients.create(mongoServer.bindAndGetConnectionString());
+        mongoTemplate = new ReactiveMongoTemplate(mongoClient, "anime");
+
+        ReadModelProperties properties = new ReadModelProperties();
+        properties.setEnabled(true);
+
+        animeReadModel = new AnimeReadModel(Repositories.anime(mongoTemplate), Repositories.episode(mongoTemplate),
+                Repositories.animeView(mongoTemplate), properties);
+
+        mongoTemplate.insertAll(List.of(
+                Anime.builder().name("Naruto").build(),
+                Anime.builder().name("Monster").build())).blockLast();
+        mongoTemplate.insert(Episode.builder().name("Naruto").title("Enter: Naruto Uzumaki!").build()).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+        mongoServer.shutdownNow();
+    }
+
+    @Test
+    void rebuildMakesReadModelConsistentWithSources() {
+        // Assemble
+        mongoTemplate.insert(AnimeView.builder().name("Bleach").episodes(List.of()).build()).block();
+
+        // Actions
+        Long rebuilt = animeReadModel.rebuild().block();
+        ReadModelReport report = animeReadModel.verify().block();
+
+        // Assertions
+        Assertions.assertEquals(2, rebuilt);
+        Assertions.assertEquals(2, report.getChecked());
+        Assertions.assertTrue(report.isConsistent(), report::toString);
+        Assertions.assertEquals(1, animeReadModel.findByName("Naruto").block().getEpisodes().size());
+    }
+
+    @Test
+    void verifyReportsStaleViewUntilItIsRefreshed() {
+        // Assemble
+        animeReadModel.rebuild().block();
+        mongoTemplate.insert(Episode.builder().name("Monster").title("Herr Dr. Tenma").build()).block();
+
+        // Actions
+        ReadModelReport stale = animeReadModel.verify().block();
+        animeReadModel.refresh("Monster").block();
+        ReadModelReport refreshed = animeReadModel.verify().block();
+
+        // Assertions
+        Assertions.assertEquals(List.of("Monster"), stale.getStale());
+        Assertions.assertTrue(refreshed.isConsistent(), refreshed::toString);
+    }
+
+    @Test
+    void refreshKeepsAViewJoinedFromANewerAnime() {
+        // Assemble
+        animeReadModel.rebuild().block();
+        AnimeView stored = mongoTemplate.findOne(Query.query(Criteria.where("name").is("Naruto")), AnimeView.class).block();
+        mongoTemplate.save(stored.withVersion(5L).withEpisodes(List.of())).block();
+
+        // Actions
+        animeReadModel.refresh("Naruto").block();
+
+        // Assertions
+        AnimeView kept = mongoTemplate.findOne(Query.query(Criteria.where("name").is("Naruto")), AnimeView.class).block();
+        Assertions.assertEquals(5L, kept.getVersion());
+        Assertions.assertEquals(List.of(), kept.getEpisodes());
+    }
+
+    @Test
+    void refreshReplacesAViewJoinedFromAnOlderAnime() {
+        // Assemble
+        animeReadModel.rebuild().block();
+        mongoTemplate.updateFirst(Query.query(Criteria.where("name").is("Naruto")), new Update().set("version", 3L), Anime.class).block();
+
+        // Actions
+        animeReadModel.refresh("Naruto").block();
+
+        // Assertions
+        AnimeView refreshed = mongoTemplate.findOne(Query.query(Criteria.where("name").is("Naruto")), AnimeView.class).block();
+        Assertions.assertEquals(3L, refreshed.getVersion());
+        Assertions.assertEquals(1, refreshed.getEpisodes().size());
+        Assertions.assertEquals(2L, mongoTemplate.count(new Query(), AnimeView.class).block());
+    }
+
+    @Test
+    void rebuildKeepsAViewRefreshedFromANewerAnimeWhileItRan() {
+        // Assemble
+        animeReadModel.rebuild().block();
+        AnimeView stored = mongoTemplate.findOne(Query.query(Criteria.where("name").is("Naruto")), AnimeView.class).block();
+        mongoTemplate.save(stored.withVersion(5L).withEpisodes(List.of()).withRefreshedAt(Instant.now().plusSeconds(60))).block();
+
+        // Actions
+        Long rebuilt = animeReadModel.rebuild().block();
+
+        // Assertions
+        AnimeView kept = mongoTemplate.findOne(Query.query(Criteria.where("name").is("Naruto")), AnimeView.class).block();
+        Assertions.assertEquals(2, rebuilt);
+        Assertions.assertEquals(5L, kept.getVersion());
+        Assertions.assertEquals(List.of(), kept.getEpisodes());
+        Assertions.assertEquals(2L, mongoTemplate.count(new Query(), AnimeView.class).block());
+    }
+}
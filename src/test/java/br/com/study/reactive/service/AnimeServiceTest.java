@@ -1,19 +1,42 @@
 package br.com.study.reactive.service;
 
+import br.com.study.reactive.cache.AnimeCacheProperties;
+import br.com.study.reactive.cache.AnimeResponseCache;
+import br.com.study.reactive.config.BatchProperties;
+import br.com.study.reactive.config.EpisodeLoaderProperties;
+import br.com.study.reactive.config.JoinProperties;
+import br.com.study.reactive.config.PagingProperties;
+import br.com.study.reactive.config.ReadModelProperties;
 import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.AnimeSummary;
+import br.com.study.reactive.domain.EpisodeSummary;
+import br.com.study.reactive.domain.VersionSummary;
 import br.com.study.reactive.dto.AnimeResponse;
+import br.com.study.reactive.dto.BatchItemResult;
+import br.com.study.reactive.dto.PageResponse;
 import br.com.study.reactive.repository.AnimeRepository;
+import br.com.study.reactive.repository.AnimeViewRepository;
 import br.com.study.reactive.repository.EpisodeRepository;
+import br.com.study.reactive.scheduler.SchedulerProperties;
+import br.com.study.reactive.scheduler.ServiceSchedulers;
 import br.com.study.reactive.util.AnimeCreator;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.blockhound.BlockHound;
 import reactor.blockhound.BlockingOperationError;
 import reactor.core.publisher.Flux;
@@ -21,13 +44,17 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.Optional;
 
 @ExtendWith(SpringExtension.class)
 class AnimeServiceTest {
 
-    @InjectMocks
     private AnimeService animeService;
 
     @Mock
@@ -36,6 +63,9 @@ class AnimeServiceTest {
     @Mock
     private EpisodeRepository episodeRepository;
 
+    @Mock
+    private AnimeViewRepository animeViewRepository;
+
     @BeforeAll
     static void blockHoundSetup() {
         BlockHound.install();
@@ -43,12 +73,18 @@ class AnimeServiceTest {
 
     @BeforeEach
     void setup() {
-        Mockito.when(animeRepository.findAll()).thenReturn(Flux.just(AnimeCreator.createAnimeToBeSaved()));
-        Mockito.when(animeRepository.findByName(Mockito.any())).thenReturn(Mono.just(AnimeCreator.createAnimeToBeFound()));
+        animeService = animeService(new JoinProperties());
+
+        Mockito.when(animeRepository.findSummariesBy()).thenReturn(Flux.just(AnimeCreator.createAnimeSummaryToBeFound()));
+        Mockito.when(animeRepository.findSummaryByName(Mockito.any())).thenReturn(Mono.just(AnimeCreator.createAnimeSummaryToBeFound()));
         Mockito.when(animeRepository.save(Mockito.any())).thenReturn(Mono.just(AnimeCreator.createAnimeToBeSaved()));
         Mockito.when(animeRepository.delete(Mockito.any())).thenReturn(Mono.empty());
+        Mockito.when(animeRepository.findAndModifyByName(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.just(AnimeCreator.createAnimeToBeFound()));
+        Mockito.when(animeRepository.findAndRemoveByName(Mockito.any(), Mockito.any())).thenReturn(Mono.just(AnimeCreator.createAnimeToBeFound()));
 
         Mockito.when(episodeRepository.findByName(Mockito.any())).thenReturn(Flux.empty());
+        Mockito.when(episodeRepository.deleteByName(Mockito.any())).thenReturn(Mono.just(0L));
+        Mockito.when(episodeRepository.findAndRenameByName(Mockito.any(), Mockito.any())).thenReturn(Mono.just(0L));
     }
 
     @Test
@@ -77,6 +113,101 @@ class AnimeServiceTest {
                 .expectSubscription();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void findAllJoinsEpisodesWithOneQueryPerBatch() {
+        // Assemble
+        JoinProperties joinProperties = new JoinProperties();
+        joinProperties.setBatchSize(2);
+        animeService = animeService(joinProperties);
+
+        Mockito.when(animeRepository.findSummariesBy()).thenReturn(Flux.just(
+                new AnimeSummary("1", "Naruto", 0L),
+                new AnimeSummary("2", "Bleach", 0L),
+                new AnimeSummary("3", "Monster", 0L)));
+        Mockito.when(episodeRepository.findByNameIn(Mockito.any())).thenAnswer(invocation -> {
+            Collection<String> names = invocation.getArgument(0);
+            return Flux.fromIterable(names)
+                    .filter(name -> !name.equals("Monster"))
+                    .map(name -> new EpisodeSummary(name + "-1", name, name + " 1"));
+        });
+
+        // Actions
+        Flux<AnimeResponse> flux = animeService.findAll();
+
+        // Assertions
+        StepVerifier.create(flux)
+                .expectSubscription()
+                .expectNextMatches(anime -> anime.getName().equals("Naruto") && anime.getEpisodes().size() == 1)
+                .expectNextMatches(anime -> anime.getName().equals("Bleach") && anime.getEpisodes().get(0).getTitle().equals("Bleach 1"))
+                .expectNextMatches(anime -> anime.getName().equals("Monster") && anime.getEpisodes().equals(List.of()))
+                .verifyComplete();
+
+        Mockito.verify(episodeRepository, Mockito.times(2)).findByNameIn(Mockito.any(Collection.class));
+        Mockito.verify(episodeRepository, Mockito.never()).findByName(Mockito.any());
+    }
+
+    @Test
+    void findAllWithoutEpisodesSkipsEpisodeLookup() {
+        // Assemble
+        AnimeFields fields = AnimeFields.of(Set.of("name"), null);
+
+        // Actions
+        Flux<AnimeResponse> flux = animeService.findAll(fields);
+
+        // Assertions
+        StepVerifier.create(flux)
+                .expectSubscription()
+                .expectNext(AnimeResponse.builder().name("Fullmetal Alchemist").build())
+                .verifyComplete();
+
+        Mockito.verifyNoInteractions(episodeRepository);
+    }
+
+    @Test
+    void findByNameIncludesEpisodesOnlyWhenRequested() {
+        // Actions
+        AnimeResponse withoutEpisodes = animeService.findByName("Fullmetal Alchemist", AnimeFields.of(Set.of("id", "name"), null)).block();
+        AnimeResponse withEpisodes = animeService.findByName("Fullmetal Alchemist", AnimeFields.of(Set.of("name"), Set.of("episodes"))).block();
+
+        // Assertions
+        Assertions.assertNull(withoutEpisodes.getEpisodes());
+        Assertions.assertNotNull(withoutEpisodes.getId());
+        Assertions.assertEquals(List.of(), withEpisodes.getEpisodes());
+        Assertions.assertNull(withEpisodes.getId());
+        Mockito.verify(episodeRepository, Mockito.times(1)).findByName("Fullmetal Alchemist");
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        // Assertions
+        ResponseStatusException exception = Assertions.assertThrows(ResponseStatusException.class,
+                () -> AnimeFields.of(Set.of("synopsis"), null));
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    void findPageReturnsTokenThatResumesAfterLastAnime() {
+        // Assemble
+        Mockito.when(animeRepository.findAllByOrderByIdAsc(Limit.of(3))).thenReturn(Flux.just(
+                new AnimeSummary("1", "Naruto", 0L),
+                new AnimeSummary("2", "Bleach", 0L),
+                new AnimeSummary("3", "Monster", 0L)));
+        Mockito.when(animeRepository.findByIdGreaterThanOrderByIdAsc("2", Limit.of(3))).thenReturn(Flux.just(
+                new AnimeSummary("3", "Monster", 0L)));
+        Mockito.when(episodeRepository.findByNameIn(Mockito.any())).thenReturn(Flux.empty());
+
+        // Actions
+        PageResponse<AnimeResponse> first = animeService.findPage(2, null).block();
+        PageResponse<AnimeResponse> second = animeService.findPage(2, first.getNext()).block();
+
+        // Assertions
+        Assertions.assertEquals(List.of("Naruto", "Bleach"), first.getContent().stream().map(AnimeResponse::getName).toList());
+        Assertions.assertEquals(List.of("Monster"), second.getContent().stream().map(AnimeResponse::getName).toList());
+        Assertions.assertNull(second.getNext());
+    }
+
     @Test
     void findByNameReturnMonoOfAnimeWhenSuccessful() {
         // Actions
@@ -87,6 +218,34 @@ class AnimeServiceTest {
                 .expectSubscription();
     }
 
+    @Test
+    void findByNameIsServedFromCacheUntilAWriteInvalidatesIt() {
+        // Actions
+        animeService.findByName("Fullmetal Alchemist").block();
+        animeService.findByName("Fullmetal Alchemist").block();
+        animeService.create(AnimeCreator.createAnimeToBeSaved()).block();
+        animeService.findByName("Fullmetal Alchemist").block();
+
+        // Assertions
+        Mockito.verify(animeRepository, Mockito.times(2)).findSummaryByName("Fullmetal Alchemist");
+    }
+
+    @Test
+    void findTaggedByNameTagsACachedBodyWithItsOwnVersionAfterTheAnimeMoved() {
+        // Assemble
+        animeService.findByName("Fullmetal Alchemist").block();
+        Mockito.when(animeRepository.findVersionByName(Mockito.any()))
+                .thenReturn(Mono.just(new VersionSummary("e8f945f7-7faa-4504-aeb8-52122b113d9c", 1L)));
+
+        // Actions
+        String fresh = animeService.findETag("Fullmetal Alchemist", AnimeFields.ALL).block();
+        String cached = animeService.findTaggedByName("Fullmetal Alchemist", AnimeFields.ALL).block().getT1();
+
+        // Assertions
+        Assertions.assertEquals("e8f945f7-7faa-4504-aeb8-52122b113d9c-1", fresh);
+        Assertions.assertEquals("e8f945f7-7faa-4504-aeb8-52122b113d9c-0", cached);
+    }
+
     @Test
     void createReturnMonoOfVoidWhenSuccessful() {
         // Assemble
@@ -100,6 +259,57 @@ class AnimeServiceTest {
                 .expectSubscription();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void createAllReportsEachItemWhenPartOfABatchFails() {
+        // Assemble
+        MongoBulkWriteException bulkWriteException = new MongoBulkWriteException(null,
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)), null, new ServerAddress());
+
+        Mockito.when(animeRepository.insert(Mockito.any(Iterable.class)))
+                .thenReturn(Flux.error(new DuplicateKeyException("duplicate key", bulkWriteException)))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<Anime>>getArgument(0)));
+
+        Flux<Anime> animes = Flux.just(
+                Anime.builder().name("Naruto").build(),
+                Anime.builder().name("Naruto").build(),
+                Anime.builder().name("Bleach").build());
+
+        // Actions
+        Flux<BatchItemResult.Status> flux = animeService.createAll(animes).map(BatchItemResult::getStatus);
+
+        // Assertions
+        StepVerifier.create(flux)
+                .expectSubscription()
+                .expectNext(BatchItemResult.Status.CREATED, BatchItemResult.Status.FAILED, BatchItemResult.Status.CREATED)
+                .verifyComplete();
+
+        Mockito.verify(animeRepository, Mockito.times(2)).insert(Mockito.any(Iterable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createAllReportsItemsNotFoundAfterATimeoutAsUnknown() {
+        // Assemble
+        Mockito.when(animeRepository.insert(Mockito.any(Iterable.class)))
+                .thenReturn(Flux.error(new TimeoutException("Did not observe any item or terminal signal within 2000ms")));
+        Mockito.when(animeRepository.findVersionsByIdIn(Mockito.any()))
+                .thenAnswer(invocation -> Flux.just(new VersionSummary(invocation.<List<String>>getArgument(0).get(0), 0L)));
+
+        Flux<Anime> animes = Flux.just(
+                Anime.builder().name("Naruto").build(),
+                Anime.builder().name("Bleach").build());
+
+        // Actions
+        Flux<BatchItemResult.Status> flux = animeService.createAll(animes).map(BatchItemResult::getStatus);
+
+        // Assertions
+        StepVerifier.create(flux)
+                .expectSubscription()
+                .expectNext(BatchItemResult.Status.CREATED, BatchItemResult.Status.UNKNOWN)
+                .verifyComplete();
+    }
+
     @Test
     void updateReturnMonoOfAnimeWhenSuccessful() {
         // Assemble
@@ -113,6 +323,42 @@ class AnimeServiceTest {
                 .expectSubscription();
     }
 
+    @Test
+    void updateMovesEpisodesToTheNewNameAndListsThem() {
+        // Assemble
+        Anime previousAnime = AnimeCreator.createAnimeToBeFound();
+        Anime anime = Anime.builder().name("Fullmetal Alchemist: Brotherhood").build();
+        Mockito.when(episodeRepository.findByName("Fullmetal Alchemist: Brotherhood"))
+                .thenReturn(Flux.just(new EpisodeSummary("1", "Fullmetal Alchemist: Brotherhood", "Fullmetal Alchemist")));
+
+        // Actions
+        Mono<AnimeResponse> mono = animeService.update(previousAnime.getName(), anime);
+
+        // Assertions
+        StepVerifier.create(mono)
+                .expectNextMatches(response -> response.getName().equals("Fullmetal Alchemist: Brotherhood")
+                        && response.getEpisodes().size() == 1)
+                .verifyComplete();
+
+        Mockito.verify(episodeRepository).findAndRenameByName(previousAnime.getName(), "Fullmetal Alchemist: Brotherhood");
+    }
+
+    @Test
+    void updateLeavesEpisodesAloneWhenTheNameIsKept() {
+        // Assemble
+        Anime previousAnime = AnimeCreator.createAnimeToBeFound();
+
+        // Actions
+        Mono<AnimeResponse> mono = animeService.update(previousAnime.getName(), Anime.builder().build());
+
+        // Assertions
+        StepVerifier.create(mono)
+                .expectNextCount(1)
+                .verifyComplete();
+
+        Mockito.verify(episodeRepository, Mockito.never()).findAndRenameByName(Mockito.any(), Mockito.any());
+    }
+
     @Test
     void deleteReturnMonoOfVoidWhenSuccessful() {
         // Actions
@@ -122,4 +368,72 @@ class AnimeServiceTest {
         StepVerifier.create(mono)
                 .expectSubscription();
     }
+
+    @Test
+    void deleteRemovesEpisodesOfTheAnimeInOneCall() {
+        // Assemble
+        Anime anime = AnimeCreator.createAnimeToBeFound();
+        Mockito.when(episodeRepository.deleteByName(anime.getName())).thenReturn(Mono.just(12L));
+
+        // Actions
+        Mono<AnimeResponse> mono = animeService.delete(anime.getName());
+
+        // Assertions
+        StepVerifier.create(mono)
+                .expectSubscription()
+                .expectNext(AnimeResponse.builder().id(anime.getId()).name(anime.getName()).deletedEpisodes(12L).build())
+                .verifyComplete();
+
+        Mockito.verify(episodeRepository, Mockito.times(1)).deleteByName(anime.getName());
+        Mockito.verify(episodeRepository, Mockito.never()).findByName(Mockito.any());
+    }
+
+    @Test
+    void updateReturnPreconditionFailedWhenIfMatchIsStale() {
+        // Assemble
+        Anime anime = Anime.builder().name("Fullmetal Alchemist: Brotherhood").build();
+        Mockito.when(animeRepository.findAndModifyByName(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(Mono.empty());
+
+        // Actions
+        Mono<AnimeResponse> mono = animeService.update("Fullmetal Alchemist", anime, "\"e8f945f7-7faa-4504-aeb8-52122b113d9c-2\"");
+
+        // Assertions
+        StepVerifier.create(mono)
+                .expectErrorMatches(e -> e instanceof ResponseStatusException exception
+                        && exception.getStatusCode() == HttpStatus.PRECONDITION_FAILED)
+                .verify();
+
+        Mockito.verify(animeRepository).findAndModifyByName("Fullmetal Alchemist", anime,
+                new VersionSummary("e8f945f7-7faa-4504-aeb8-52122b113d9c", 2L));
+    }
+
+    @Test
+    void deleteReturnPreconditionFailedWhenIfMatchIsWeak() {
+        // Actions
+        Mono<AnimeResponse> mono = animeService.delete("Fullmetal Alchemist", "W/\"e8f945f7-7faa-4504-aeb8-52122b113d9c-2\"");
+
+        // Assertions
+        StepVerifier.create(mono)
+                .expectErrorMatches(e -> e instanceof ResponseStatusException exception
+                        && exception.getStatusCode() == HttpStatus.PRECONDITION_FAILED)
+                .verify();
+
+        Mockito.verify(animeRepository, Mockito.never()).findAndRemoveByName(Mockito.any(), Mockito.any());
+    }
+
+    private AnimeService animeService(JoinProperties joinProperties) {
+        AnimeResponseCache animeResponseCache = new AnimeResponseCache(new AnimeCacheProperties(), new SimpleMeterRegistry());
+
+        PagingProperties pagingProperties = new PagingProperties();
+        BatchProperties batchProperties = new BatchProperties();
+        EpisodeLoaderProperties loaderProperties = new EpisodeLoaderProperties();
+        loaderProperties.setEnabled(false);
+        AnimeReadModel animeReadModel = new AnimeReadModel(animeRepository, episodeRepository, animeViewRepository, new ReadModelProperties());
+        ServiceSchedulers schedulers = new ServiceSchedulers(new SchedulerProperties(), new SimpleMeterRegistry());
+
+        return new AnimeService(animeRepository,
+                new EpisodeService(episodeRepository, animeResponseCache, pagingProperties, batchProperties, animeReadModel,
+                        animeRepository, new EpisodeBatchLoader(episodeRepository, loaderProperties, new SimpleMeterRegistry()), schedulers),
+                joinProperties, animeResponseCache, pagingProperties, batchProperties, animeReadModel, Optional.empty(), schedulers);
+    }
 }
@@ -0,0 +1,136 @@
+package br.com.study.reactive.service;
+
+import br.com.study.reactive.config.EpisodeLoaderProperties;
+import br.com.study.reactive.domain.EpisodeSummary;
+import br.com.study.reactive.repository.EpisodeRepository;
+import br.com.study.reactive.timing.StageTimings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@ExtendWith(SpringExtension.class)
+class EpisodeBatchLoaderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EpisodeLoaderProperties properties = new EpisodeLoaderProperties();
+
+    @Mock
+    private EpisodeRepository episodeRepository;
+
+    private EpisodeBatchLoader episodeBatchLoader;
+
+    @BeforeEach
+    void setup() {
+        properties.setWindow(Duration.ofMillis(50));
+        episodeBatchLoader = new EpisodeBatchLoader(episodeRepository, properties, meterRegistry);
+
+        Mockito.when(episodeRepository.findByNameIn(Mockito.any())).thenReturn(Flux.just(
+                new EpisodeSummary("1", "Naruto", "Enter: Naruto Uzumaki!"),
+                new EpisodeSummary("2", "Naruto", "My Name is Konohamaru!"),
+                new EpisodeSummary("3", "Bleach", "The Day I Became a Shinigami")));
+    }
+
+    @Test
+    void loadsWithinOneWindowShareOneQuery() {
+        // Actions
+        Mono<Map<String, List<String>>> titlesByName = Flux.just("Naruto", "Bleach", "Naruto", "One Piece")
+                .flatMap(name -> episodeBatchLoader.load(name).map(EpisodeSummary::getTitle).collectList()
+                        .map(titles -> Map.entry(name, titles)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+
+        // Assertions
+        StepVerifier.create(titlesByName)
+                .expectNext(Map.of(
+                        "Naruto", List.of("Enter: Naruto Uzumaki!", "My Name is Konohamaru!"),
+                        "Bleach", List.of("The Day I Became a Shinigami"),
+                        "One Piece", List.of()))
+                .verifyComplete();
+
+        ArgumentCaptor<Collection<String>> names = namesCaptor();
+        Mockito.verify(episodeRepository, Mockito.times(1)).findByNameIn(names.capture());
+        Assertions.assertEquals(Set.of("Naruto", "Bleach", "One Piece"), Set.copyOf(names.getValue()));
+        Assertions.assertEquals(3.0, meterRegistry.get("episode.loader.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void batchedQueryIsRecordedInEveryTimedRequestWaitingOnIt() {
+        // Assemble
+        StageTimings naruto = new StageTimings();
+        StageTimings bleach = new StageTimings();
+
+        // Actions
+        Flux<EpisodeSummary> flux = Flux.merge(
+                episodeBatchLoader.load("Naruto").contextWrite(Context.of(StageTimings.class, naruto)),
+                episodeBatchLoader.load("Bleach").contextWrite(Context.of(StageTimings.class, bleach)),
+                episodeBatchLoader.load("One Piece"));
+
+        // Assertions
+        StepVerifier.create(flux)
+                .expectNextCount(3)
+                .verifyComplete();
+
+        Assertions.assertEquals(1, naruto.snapshot().get("episode-batch").getCount());
+        Assertions.assertEquals(1, bleach.snapshot().get("episode-batch").getCount());
+    }
+
+    @Test
+    void fullBatchIsDispatchedBeforeTheWindowEnds() {
+        // Assemble
+        properties.setWindow(Duration.ofMinutes(1));
+        properties.setMaxBatchSize(2);
+
+        // Actions
+        Flux<EpisodeSummary> flux = Flux.merge(episodeBatchLoader.load("Naruto"), episodeBatchLoader.load("Bleach"));
+
+        // Assertions
+        StepVerifier.create(flux)
+                .expectNextCount(3)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        Mockito.verify(episodeRepository, Mockito.times(1)).findByNameIn(Mockito.any());
+    }
+
+    @Test
+    void queryErrorReachesEveryWaitingLoad() {
+        // Assemble
+        Mockito.when(episodeRepository.findByNameIn(Mockito.any())).thenReturn(Flux.error(new IllegalStateException()));
+
+        // Actions
+        Flux<Throwable> errors = Flux.just("Naruto", "Bleach")
+                .flatMap(name -> episodeBatchLoader.load(name).materialize())
+                .filter(Signal::isOnError)
+                .map(Signal::getThrowable);
+
+        // Assertions
+        StepVerifier.create(errors)
+                .expectNextMatches(IllegalStateException.class::isInstance)
+                .expectNextMatches(IllegalStateException.class::isInstance)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        Mockito.verify(episodeRepository, Mockito.times(1)).findByNameIn(Mockito.any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<String>> namesCaptor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.study.reactive.service;
+
+import br.com.study.reactive.cache.AnimeCacheProperties;
+import br.com.study.reactive.cache.AnimeResponseCache;
+import br.com.study.reactive.config.BatchProperties;
+import br.com.study.reactive.config.EpisodeLoaderProperties;
+import br.com.study.reactive.config.PagingProperties;
+import br.com.study.reactive.config.ReadModelProperties;
+import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.domain.VersionSummary;
+import br.com.study.reactive.dto.EpisodeResponse;
+import br.com.study.reactive.repository.AnimeRepository;
+import br.com.study.reactive.repository.EpisodeRepository;
+import br.com.study.reactive.repository.Repositories;
+import br.com.study.reactive.scheduler.SchedulerProperties;
+import br.com.study.reactive.scheduler.ServiceSchedulers;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.test.StepVerifier;
+
+/**
+ * Runs the write paths against mongo-java-server, so a write that is built but never subscribed or that loses the
+ * document id fails here instead of passing against a mock.
+ */
+class EpisodeServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MongoServer mongoServer;
+    private MongoClient mongoClient;
+    private ServiceSchedulers schedulers;
+    private AnimeRepository animeRepository;
+    private EpisodeRepository episodeRepository;
+    private EpisodeService episodeService;
+    private Episode episode;
+
+    @BeforeEach
+    void setup() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        mongoClient = MongoClients.create(mongoServer.bindAndGetConnectionString());
+        ReactiveMongoTemplate mongoTemplate = new ReactiveMongoTemplate(mongoClient, "anime");
+        animeRepository = Repositories.anime(mongoTemplate);
+        episodeRepository = Repositories.episode(mongoTemplate);
+        schedulers = new ServiceSchedulers(new SchedulerProperties(), meterRegistry);
+
+        EpisodeLoaderProperties loaderProperties = new EpisodeLoaderProperties();
+        loaderProperties.setEnabled(false);
+
+        episodeService = new EpisodeService(episodeRepository,
+                new AnimeResponseCache(new AnimeCacheProperties(), meterRegistry),
+                new PagingProperties(),
+                new BatchProperties(),
+                new AnimeReadModel(animeRepository, episodeRepository, null, new ReadModelProperties()),
+                animeRepository,
+                new EpisodeBatchLoader(episodeRepository, loaderProperties, meterRegistry),
+                schedulers);
+
+        animeRepository.save(Anime.builder().name("Naruto").build()).block();
+        episode = episodeRepository.save(Episode.builder().name("Naruto").title("Enter: Naruto Uzumaki!").build()).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        schedulers.destroy();
+        mongoClient.close();
+        mongoServer.shutdownNow();
+    }
+
+    @Test
+    void updateKeepsTheIdAndMovesTheVersionOfTheEpisodeAndItsAnime() {
+        // Assemble
+        Episode changes = Episode.builder().title("My Name is Konohamaru!").build();
+
+        // Actions
+        EpisodeResponse response = episodeService.update("Enter: Naruto Uzumaki!", changes, "\"" + episode.getId() + "-0\"").block();
+
+        // Assertions
+        Assertions.assertEquals(new EpisodeResponse(episode.getId(), "Naruto", "My Name is Konohamaru!"), response);
+        Assertions.assertEquals(new VersionSummary(episode.getId(), 1L), episodeRepository.findVersionByTitle("My Name is Konohamaru!").block());
+        Assertions.assertNull(episodeRepository.findSummaryByTitle("Enter: Naruto Uzumaki!").block());
+        Assertions.assertEquals(1L, animeRepository.findVersionByName("Naruto").block().getVersion());
+    }
+
+    @Test
+    void updateReturnPreconditionFailedWhenIfMatchIsStale() {
+        // Actions
+        StepVerifier.create(episodeService.update("Enter: Naruto Uzumaki!", Episode.builder().title("My Name is Konohamaru!").build(),
+                        "\"" + episode.getId() + "-7\""))
+                .expectErrorMatches(e -> e instanceof ResponseStatusException exception
+                        && exception.getStatusCode() == HttpStatus.PRECONDITION_FAILED)
+                .verify();
+
+        // Assertions
+        Assertions.assertNotNull(episodeRepository.findSummaryByTitle("Enter: Naruto Uzumaki!").block());
+    }
+
+    @Test
+    void deleteRemovesTheEpisode() {
+        // Actions
+        EpisodeResponse response = episodeService.delete("Enter: Naruto Uzumaki!").block();
+
+        // Assertions
+        Assertions.assertEquals(new EpisodeResponse(episode.getId(), "Naruto", "Enter: Naruto Uzumaki!"), response);
+        Assertions.assertEquals(0L, episodeRepository.count().block());
+        Assertions.assertEquals(1L, animeRepository.findVersionByName("Naruto").block().getVersion());
+    }
+
+    @Test
+    void deleteReturnPreconditionFailedWhenIfMatchIsStale() {
+        // Actions
+        StepVerifier.create(episodeService.delete("Enter: Naruto Uzumaki!", "\"" + episode.getId() + "-7\""))
+                .expectErrorMatches(e -> e instanceof ResponseStatusException exception
+                        && exception.getStatusCode() == HttpStatus.PRECONDITION_FAILED)
+                .verify();
+
+        // Assertions
+        Assertions.assertEquals(1L, episodeRepository.count().block());
+    }
+
+    @Test
+    void renameAllMovesEveryEpisodeOfTheAnime() {
+        // Actions
+        Long renamed = episodeService.renameAll("Naruto", "Naruto Shippuden").block();
+
+        // Assertions
+        Assertions.assertEquals(1L, renamed);
+        Assertions.assertEquals(0L, episodeRepository.findByName("Naruto").count().block());
+        Assertions.assertEquals(new VersionSummary(episode.getId(), 1L), episodeRepository.findVersionByTitle("Enter: Naruto Uzumaki!").block());
+        StepVerifier.create(episodeService.findByName("Naruto Shippuden"))
+                .expectNext(new EpisodeResponse(episode.getId(), "Naruto Shippuden", "Enter: Naruto Uzumaki!"))
+                .verifyComplete();
+    }
+}
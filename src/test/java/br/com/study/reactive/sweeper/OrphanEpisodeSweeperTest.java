@@ -0,0 +1,94 @@
+package br.com.study.reactive.sweeper;
+
+import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.Episode;
+import br.com.study.reactive.repository.AnimeRepository;
+import br.com.study.reactive.repository.EpisodeRepository;
+import br.com.study.reactive.repository.Repositories;
+import br.com.study.reactive.scheduler.SchedulerProperties;
+import br.com.study.reactive.scheduler.ServiceSchedulers;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+class OrphanEpisodeSweeperTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MongoServer mongoServer;
+    private MongoClient mongoClient;
+    private EpisodeRepository episodeRepository;
+    private OrphanEpisodeSweeper sweeper;
+
+    @BeforeEach
+    void setup() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        mongoClient = MongoClients.create(mongoServer.bindAndGetConnectionString());
+
+        ReactiveMongoTemplate mongoTemplate = new ReactiveMongoTemplate(mongoClient, "anime");
+        AnimeRepository animeRepository = Repositories.anime(mongoTemplate);
+        episodeRepository = Repositories.episode(mongoTemplate);
+
+        OrphanSweeperProperties properties = new OrphanSweeperProperties();
+        properties.setBatchSize(2);
+        properties.setPause(Duration.ZERO);
+        properties.setGracePeriod(Duration.ofMinutes(10));
+        sweeper = new OrphanEpisodeSweeper(mongoTemplate, animeRepository, properties,
+                new ServiceSchedulers(new SchedulerProperties(), meterRegistry), meterRegistry);
+
+        // Written before createdAt was stored; every episode but the last one was created a day ago
+        ObjectId dayOld = new ObjectId(Date.from(Instant.now().minus(Duration.ofDays(1))));
+        animeRepository.save(Anime.builder().name("Naruto").build()).block();
+        Flux.fromIterable(List.of("Naruto", "Naruto", "Bleach", "Bleach", "One Piece", "Dragon Ball"))
+                .index()
+                .concatMap(episode -> episodeRepository.save(Episode.builder()
+                        .id(episode.getT1() < 5 ? new ObjectId(dayOld.getDate(), episode.getT1().intValue()).toHexString() : null)
+                        .name(episode.getT2())
+                        .title(episode.getT2() + " " + episode.getT1())
+                        .build()))
+                .blockLast();
+
+        // Client-supplied ids that are not ObjectIds, so only createdAt tells their age
+        Instant dayAgo = Instant.now().minus(Duration.ofDays(1));
+        episodeRepository.saveAll(List.of(
+                Episode.builder().id("cowboy-bebop-1").name("Cowboy Bebop").title("Asteroid Blues").createdAt(dayAgo).build(),
+                Episode.builder().id("cowboy-bebop-2").name("Cowboy Bebop").title("Stray Dog Strut").build(),
+                Episode.builder().id("trigun-1").name("Trigun").title("The $60,000,000,000 Man").createdAt(Instant.now()).build()))
+                .blockLast();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+        mongoServer.shutdownNow();
+    }
+
+    @Test
+    void sweepRemovesOnlyEpisodesWhoseAnimeIsGoneOnceTheGracePeriodPassed() {
+        // Actions
+        Long deleted = sweeper.sweep().block();
+
+        // Assertions
+        Assertions.assertEquals(5L, deleted);
+        Assertions.assertEquals(4L, episodeRepository.count().block());
+        Assertions.assertEquals(1L, episodeRepository.findByName("Dragon Ball").count().block());
+        Assertions.assertEquals(0L, episodeRepository.findByName("Cowboy Bebop").count().block());
+        Assertions.assertEquals(1L, episodeRepository.findByName("Trigun").count().block());
+        Assertions.assertEquals(2L, episodeRepository.findByName("Naruto").count().block());
+        Assertions.assertEquals(5.0, meterRegistry.get("orphan.episodes.deleted").counter().count());
+    }
+}
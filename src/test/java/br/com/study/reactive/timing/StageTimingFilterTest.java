@@ -0,0 +1,73 @@
+package br.com.study.reactive.timing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+class StageTimingFilterTest {
+
+    private final WebFilterChain chain = exchange -> Mono.deferContextual(context -> {
+        StageTimings timings = StageTimings.from(context);
+        timings.record("AnimeRepository.findSummariesBy", 2_000_000);
+        timings.record("EpisodeRepository.findByName", 1_000_000);
+        timings.record("EpisodeRepository.findByName", 1_500_000);
+
+        return exchange.getResponse().setComplete();
+    });
+
+    private StageTimingProperties properties;
+    private StageTimingFilter filter;
+
+    @BeforeEach
+    void setup() {
+        properties = new StageTimingProperties();
+        properties.setSampleRate(0);
+        filter = new StageTimingFilter(properties);
+    }
+
+    @Test
+    void filterSendsStagesRecordedThroughTheContextAsServerTiming() {
+        // Assemble
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/animes"));
+
+        // Actions
+        filter.filter(exchange, chain).block();
+
+        // Assertions
+        String serverTiming = exchange.getResponse().getHeaders().getFirst(StageTimingFilter.SERVER_TIMING);
+        Assertions.assertNotNull(serverTiming);
+        Assertions.assertTrue(serverTiming.startsWith("AnimeRepository.findSummariesBy;dur=2.0;desc=\"1 call\", "
+                + "EpisodeRepository.findByName;dur=2.5;desc=\"2 calls\", total;dur="));
+    }
+
+    @Test
+    void filterOmitsServerTimingWhenDisabled() {
+        // Assemble
+        properties.setServerTiming(false);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/animes"));
+
+        // Actions
+        filter.filter(exchange, chain).block();
+
+        // Assertions
+        Assertions.assertNull(exchange.getResponse().getHeaders().getFirst(StageTimingFilter.SERVER_TIMING));
+    }
+
+    @Test
+    void stagesOutsideATimedRequestAreNotRecorded() {
+        // Actions
+        StageTimings timings = StageTimings.from(Context.empty());
+        String result = timings.measure("join", () -> "joined");
+        timings.record("AnimeRepository.findSummariesBy", 1_000_000);
+
+        // Assertions
+        Assertions.assertEquals("joined", result);
+        Assertions.assertFalse(timings.isRecording());
+        Assertions.assertTrue(timings.snapshot().isEmpty());
+    }
+}
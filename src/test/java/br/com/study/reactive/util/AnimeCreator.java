@@ -1,6 +1,7 @@
 package br.com.study.reactive.util;
 
 import br.com.study.reactive.domain.Anime;
+import br.com.study.reactive.domain.AnimeSummary;
 
 public class AnimeCreator {
 
@@ -23,4 +24,8 @@ public class AnimeCreator {
                 .name("Fullmetal Alchemist: Brotherhood")
                 .build();
     }
+
+    public static AnimeSummary createAnimeSummaryToBeFound() {
+        return new AnimeSummary("e8f945f7-7faa-4504-aeb8-52122b113d9c", "Fullmetal Alchemist", 0L);
+    }
 }